@@ -0,0 +1,70 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.dto.BookingResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BookingService.createBooking} at a steady booking density: every
+ * successful booking is discarded again so the fleet never fills up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Demand {
+
+        private static final int SIZE = 1024;
+
+        BookingRequestDto[] requests;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(7L);
+            requests = new BookingRequestDto[SIZE];
+
+            for (int i = 0; i < SIZE; i++) {
+                requests[i] = new BookingRequestDto(
+                        BenchmarkConfig.DATE,
+                        LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(25)),
+                        60 * (1 + random.nextInt(2)),
+                        1 + random.nextInt(3)
+                );
+            }
+        }
+
+        BookingRequestDto next() {
+            return requests[next++ & (SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public BookingResponseDto createBooking(FleetState state, Demand demand) {
+        try {
+            BookingResponseDto response = state.bookingService.createBooking(demand.next());
+            state.repositories.discard(response.bookingId());
+            return response;
+        } catch (IllegalStateException noCapacity) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.allocation.AllocationStrategyType;
+import com.justlife.booking.dto.BookingRequestDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays one fixed stream of booking requests against an empty day with each
+ * allocation strategy. The {@code accepted} and {@code rejected} counters,
+ * per replay, are the result to compare; the time is secondary.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+@Fork(1)
+public class AllocationSimulationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Simulation {
+
+        @Param({"FIRST_FIT", "BEST_FIT", "LEAST_LOADED"})
+        public AllocationStrategyType strategy;
+
+        @Param({"50x5"})
+        public String fleet;
+
+        @Param({"1500"})
+        public int requests;
+
+        BookingRequestDto[] demand;
+        FleetState state;
+
+        @Setup(Level.Trial)
+        public void setUpDemand() {
+            Random random = new Random(11L);
+            demand = new BookingRequestDto[requests];
+
+            for (int i = 0; i < requests; i++) {
+                int duration = 60 + 30 * random.nextInt(7);
+                int latestStart = (22 * 60 - duration - 8 * 60) / 30;
+
+                demand[i] = new BookingRequestDto(
+                        BenchmarkConfig.DATE,
+                        LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(latestStart + 1)),
+                        duration,
+                        1 + random.nextInt(3)
+                );
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpFleet() {
+            String[] shape = fleet.split("x");
+
+            state = new FleetState();
+            state.wire(
+                    SyntheticFleet.generate(
+                            Integer.parseInt(shape[0]),
+                            Integer.parseInt(shape[1]),
+                            0,
+                            BenchmarkConfig.DATE,
+                            42L
+                    ),
+                    BenchmarkConfig.scheduling(strategy)
+            );
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcome {
+
+        public long accepted;
+        public long rejected;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            accepted = 0;
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public void replay(Simulation simulation, Outcome outcome) {
+        for (BookingRequestDto request : simulation.demand) {
+            try {
+                simulation.state.bookingService.createBooking(request);
+                outcome.accepted++;
+            } catch (IllegalStateException noCapacity) {
+                outcome.rejected++;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.dto.AvailabilityHeatmapDto;
+import com.justlife.booking.dto.VehicleAvailabilityDto;
+import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of both availability endpoints, minus the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    // Moves the date's version first, so every call computes the result.
+    @Benchmark
+    public List<VehicleDailyAvailabilityDto> dailyAvailability(FleetState state) {
+        state.dayVersions.changed(BenchmarkConfig.DATE);
+        return state.availabilityService.getDailyAvailabilityByVehicle(BenchmarkConfig.DATE);
+    }
+
+    @Benchmark
+    public List<VehicleDailyAvailabilityDto> dailyAvailabilityCached(FleetState state) {
+        return state.availabilityService.getDailyAvailabilityByVehicle(BenchmarkConfig.DATE);
+    }
+
+    @Benchmark
+    public List<VehicleAvailabilityDto> windowAvailability(FleetState state) {
+        return state.availabilityService.getAvailabilityByVehicle(
+                BenchmarkConfig.DATE,
+                LocalTime.of(14, 0),
+                120
+        );
+    }
+
+    @Benchmark
+    public AvailabilityHeatmapDto weeklyHeatmap(FleetState state) {
+        return state.availabilityService.getHeatmap(
+                BenchmarkConfig.DATE,
+                BenchmarkConfig.DATE.plusDays(6),
+                30
+        );
+    }
+}
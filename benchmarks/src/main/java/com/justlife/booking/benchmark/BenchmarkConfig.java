@@ -0,0 +1,76 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.allocation.AllocationStrategyType;
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.time.TimeProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+final class BenchmarkConfig {
+
+    static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    static final LocalDate DATE = LocalDate.of(2030, 1, 8);
+
+    private BenchmarkConfig() {
+    }
+
+    static SchedulingConfig scheduling() {
+        return scheduling(AllocationStrategyType.FIRST_FIT);
+    }
+
+    static SchedulingConfig scheduling(AllocationStrategyType strategy) {
+        return new SchedulingConfig(
+                ZONE,
+                new SchedulingConfig.WorkingHours(
+                        LocalTime.of(8, 0),
+                        LocalTime.of(22, 0)
+                ),
+                30,
+                DayOfWeek.FRIDAY,
+                new SchedulingConfig.Defaults(5),
+                new SchedulingConfig.Occupancy(15, 120),
+                new SchedulingConfig.Allocation(64, true, strategy, Duration.ofMillis(20)),
+                new SchedulingConfig.Availability(64, Duration.ofSeconds(2))
+        );
+    }
+
+    static TimeProvider clock() {
+        ZonedDateTime now = ZonedDateTime.of(DATE.minusDays(1), LocalTime.of(10, 0), ZONE);
+        return () -> now;
+    }
+
+    // Lets services that build their own transaction templates run over the
+    // in-memory repositories, as TransactionOperations.withoutTransaction() does.
+    static PlatformTransactionManager noTransactions() {
+        AbstractPlatformTransactionManager manager = new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+        manager.setTransactionSynchronization(AbstractPlatformTransactionManager.SYNCHRONIZATION_NEVER);
+        return manager;
+    }
+}
@@ -0,0 +1,125 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.HomeCleaningBookingSystemApplication;
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.SlotGrid;
+import com.justlife.booking.repository.BookingRepository;
+import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting five-cleaner bookings, with their slot claims, through JPA into
+ * an in-process H2 database: one booking per transaction, and a bulk
+ * transaction of {@link #BULK} bookings as seeding and batch paths do.
+ * <p>
+ * H2 has no network round trip, so the gain from batching on PostgreSQL is
+ * larger than measured here.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingWriteBenchmark {
+
+    static final int BULK = 20;
+
+    private static final LocalTime START = LocalTime.of(10, 0);
+    private static final LocalTime END = LocalTime.of(12, 0);
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactions;
+    private BookingRepository bookingRepository;
+    private Vehicle vehicle;
+    private List<Cleaner> cleaners;
+    private SlotGrid grid;
+    private LocalDate nextDate = BenchmarkConfig.DATE;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HomeCleaningBookingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN"
+                );
+
+        transactions = context.getBean(TransactionTemplate.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        grid = SlotGrid.of(BenchmarkConfig.scheduling());
+
+        Vehicle seeded = new Vehicle("Bench-1");
+        for (int c = 1; c <= 5; c++) {
+            seeded.addCleaner(new Cleaner("Bench-1-" + c));
+        }
+        context.getBean(VehicleRepository.class).save(seeded);
+
+        vehicle = seeded;
+        cleaners = context.getBean(CleanerRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long singleBooking() {
+        return transactions.execute(status -> persist());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public Long bulkBookings() {
+        return transactions.execute(status -> {
+            Long last = null;
+            for (int i = 0; i < BULK; i++) {
+                last = persist();
+            }
+            return last;
+        });
+    }
+
+    // A fresh date per booking keeps the claims from colliding.
+    private Long persist() {
+        Booking booking = new Booking(nextDate, START, END, vehicle);
+        nextDate = nextDate.plusDays(1);
+
+        for (Cleaner cleaner : cleaners) {
+            booking.assignCleaner(cleaner)
+                    .claim(grid.firstSlot(START), grid.endSlot(END));
+        }
+
+        return bookingRepository.saveAndFlush(booking).getId();
+    }
+}
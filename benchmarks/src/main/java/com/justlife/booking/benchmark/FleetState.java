@@ -0,0 +1,93 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.allocation.AllocationLocks;
+import com.justlife.booking.availability.DailyAvailabilityCache;
+import com.justlife.booking.availability.SingleFlight;
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.metrics.ServiceMetrics;
+import com.justlife.booking.occupancy.DayVersions;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.roster.RosterCache;
+import com.justlife.booking.service.AvailabilityService;
+import com.justlife.booking.service.BookingService;
+import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * A synthetic fleet wired to real services over in-memory repositories.
+ */
+@State(Scope.Benchmark)
+public class FleetState {
+
+    @Param({"5x5", "100x5", "2000x5"})
+    public String fleet;
+
+    @Param({"2", "4"})
+    public int bookingsPerCleaner;
+
+    SyntheticFleet synthetic;
+    InMemoryRepositories repositories;
+    OccupancyIndex occupancyIndex;
+    DayVersions dayVersions;
+    AvailabilityService availabilityService;
+    BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wire(
+                SyntheticFleet.generate(fleet, bookingsPerCleaner, 42L),
+                BenchmarkConfig.scheduling()
+        );
+    }
+
+    void wire(SyntheticFleet synthetic, SchedulingConfig schedulingConfig) {
+        this.synthetic = synthetic;
+        repositories = new InMemoryRepositories(synthetic);
+
+        TimeProvider clock = BenchmarkConfig.clock();
+
+        occupancyIndex = new OccupancyIndex(
+                repositories.bookingCleaners(),
+                schedulingConfig,
+                clock
+        );
+        repositories.attach(occupancyIndex);
+
+        RosterCache rosterCache = new RosterCache(repositories.cleaners());
+        dayVersions = new DayVersions(repositories.dayVersions());
+        ServiceMetrics serviceMetrics = new ServiceMetrics(new SimpleMeterRegistry());
+
+        availabilityService = new AvailabilityService(
+                rosterCache,
+                repositories.bookingCleaners(),
+                occupancyIndex,
+                dayVersions,
+                new DailyAvailabilityCache(schedulingConfig),
+                new SingleFlight(schedulingConfig),
+                BenchmarkConfig.noTransactions(),
+                schedulingConfig,
+                clock,
+                serviceMetrics
+        );
+
+        bookingService = new BookingService(
+                repositories.cleaners(),
+                repositories.bookings(),
+                repositories.vehicles(),
+                rosterCache,
+                occupancyIndex,
+                dayVersions,
+                new AllocationLocks(schedulingConfig),
+                TransactionOperations.withoutTransaction(),
+                schedulingConfig,
+                clock,
+                serviceMetrics
+        );
+    }
+}
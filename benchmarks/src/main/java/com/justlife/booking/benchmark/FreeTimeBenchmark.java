@@ -0,0 +1,56 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.model.TimeSlot;
+import com.justlife.booking.occupancy.FreeTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cleaner slot computation that backs {@code /availability/date}
+ * (formerly {@code AvailabilityService.subtractBookings}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FreeTimeBenchmark {
+
+    @Param({"0", "2", "4", "8"})
+    public int bookings;
+
+    private List<TimeSlot> busy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        busy = new ArrayList<>();
+
+        LocalTime cursor = LocalTime.of(7, 30);
+        for (int i = 0; i < bookings; i++) {
+            LocalTime end = cursor.plusMinutes(840 / Math.max(bookings, 1) - 30);
+            busy.add(new TimeSlot(cursor, end));
+            cursor = end.plusMinutes(30);
+        }
+    }
+
+    @Benchmark
+    public List<TimeSlot> sweep() {
+        return FreeTime.sweep(LocalTime.of(8, 0), LocalTime.of(22, 0), busy).slots();
+    }
+}
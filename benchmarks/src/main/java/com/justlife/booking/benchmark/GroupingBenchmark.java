@@ -0,0 +1,71 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.RosterRow;
+import com.justlife.booking.roster.Roster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The roster snapshot and the id-keyed assignment bucketing the services
+ * perform on every request, isolated from the rest of the request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Rows {
+
+        List<RosterRow> cleaners;
+        List<AssignmentRow> assignments;
+        Roster roster;
+
+        @Setup(Level.Trial)
+        public void setUp(FleetState state) {
+            cleaners = state.synthetic.roster();
+            assignments = state.synthetic.bookings().stream()
+                    .map(Booking::getCleaners)
+                    .flatMap(Set::stream)
+                    .map(SyntheticFleet::row)
+                    .toList();
+            roster = Roster.of(cleaners);
+        }
+    }
+
+    @Benchmark
+    public Roster rosterSnapshot(Rows rows) {
+        return Roster.of(rows.cleaners);
+    }
+
+    @Benchmark
+    public int[] assignmentsByCleaner(Rows rows) {
+        int[] counts = new int[rows.roster.cleanerCount()];
+
+        for (AssignmentRow row : rows.assignments) {
+            int cleaner = rows.roster.indexOfCleaner(row.cleanerId());
+            if (cleaner >= 0) {
+                counts[cleaner]++;
+            }
+        }
+
+        return counts;
+    }
+}
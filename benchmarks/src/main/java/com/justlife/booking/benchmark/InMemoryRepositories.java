@@ -0,0 +1,214 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.BookingCleaner;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.DayVersion;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.repository.BookingCleanerRepository;
+import com.justlife.booking.repository.BookingRepository;
+import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.DayVersionRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.DatedAssignmentRow;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository stand-ins backed by plain collections, so the services can be
+ * benchmarked in-process without a database. Only the methods the services
+ * call are implemented; anything else fails loudly.
+ * <p>
+ * Saved bookings are pushed into the {@link OccupancyIndex} the same way the
+ * JPA entity listener does it.
+ */
+final class InMemoryRepositories {
+
+    private final SyntheticFleet fleet;
+    private final Map<Long, Cleaner> cleanersById = new HashMap<>();
+    private final Map<Long, Vehicle> vehiclesById = new HashMap<>();
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    private final Map<LocalDate, List<BookingCleaner>> assignmentsByDate = new HashMap<>();
+    private final Map<LocalDate, Long> versions = new HashMap<>();
+
+    private OccupancyIndex occupancyIndex;
+
+    InMemoryRepositories(SyntheticFleet fleet) {
+        this.fleet = fleet;
+        fleet.cleaners().forEach(c -> cleanersById.put(c.getId(), c));
+        fleet.vehicles().forEach(v -> vehiclesById.put(v.getId(), v));
+        fleet.bookings().forEach(this::store);
+    }
+
+    void attach(OccupancyIndex occupancyIndex) {
+        this.occupancyIndex = occupancyIndex;
+    }
+
+    CleanerRepository cleaners() {
+        return proxy(CleanerRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findRoster" -> fleet.roster();
+            case "getReferenceById" -> cleanersById.get((Long) args[0]);
+            default -> unsupported(method.getName());
+        });
+    }
+
+    VehicleRepository vehicles() {
+        return proxy(VehicleRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getReferenceById" -> vehiclesById.get((Long) args[0]);
+            default -> unsupported(method.getName());
+        });
+    }
+
+    BookingRepository bookings() {
+        return proxy(BookingRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "save", "saveAndFlush" -> save((Booking) args[0]);
+            case "findById", "findWithAssignmentsById" -> Optional.ofNullable(bookings.get((Long) args[0]));
+            case "flush" -> null;
+            default -> unsupported(method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    BookingCleanerRepository bookingCleaners() {
+        return proxy(BookingCleanerRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findAssignmentsOnDate" -> rows((LocalDate) args[0]);
+            case "findAssignmentsOnDates" -> datedRows((Collection<LocalDate>) args[0]);
+            case "findRosterAssignmentsOnDate" -> rows((LocalDate) args[0]).stream()
+                    .sorted(Comparator.comparing(AssignmentRow::startTime))
+                    .toList();
+            default -> unsupported(method.getName());
+        });
+    }
+
+    DayVersionRepository dayVersions() {
+        return proxy(DayVersionRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(versions.get((LocalDate) args[0]))
+                    .map(version -> dayVersion((LocalDate) args[0], version));
+            case "findAllById" -> {
+                List<DayVersion> rows = new ArrayList<>();
+                for (Object date : (Iterable<?>) args[0]) {
+                    Long version = versions.get((LocalDate) date);
+                    if (version != null) {
+                        rows.add(dayVersion((LocalDate) date, version));
+                    }
+                }
+                yield rows;
+            }
+            case "increment", "insertFirst" -> {
+                versions.merge((LocalDate) args[0], 1L, Long::sum);
+                yield 1;
+            }
+            default -> unsupported(method.getName());
+        });
+    }
+
+    void discard(Long bookingId) {
+        Booking booking = bookings.remove(bookingId);
+
+        if (booking == null) {
+            return;
+        }
+
+        assignmentsOn(booking.getDate()).removeAll(booking.getCleaners());
+        booking.getCleaners().forEach(occupancyIndex::released);
+    }
+
+    private Booking save(Booking booking) {
+        if (booking.getId() == null) {
+            SyntheticFleet.setId(booking, fleet.nextId());
+        }
+
+        store(booking);
+
+        if (occupancyIndex != null) {
+            booking.getCleaners().forEach(occupancyIndex::assigned);
+        }
+
+        return booking;
+    }
+
+    private void store(Booking booking) {
+        bookings.put(booking.getId(), booking);
+        assignmentsByDate
+                .computeIfAbsent(booking.getDate(), d -> new ArrayList<>())
+                .addAll(booking.getCleaners());
+    }
+
+    private static DayVersion dayVersion(LocalDate date, long version) {
+        try {
+            Constructor<DayVersion> constructor = DayVersion.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            DayVersion dayVersion = constructor.newInstance();
+
+            Field dateField = DayVersion.class.getDeclaredField("date");
+            dateField.setAccessible(true);
+            dateField.set(dayVersion, date);
+
+            Field versionField = DayVersion.class.getDeclaredField("version");
+            versionField.setAccessible(true);
+            versionField.setLong(dayVersion, version);
+
+            return dayVersion;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<BookingCleaner> assignmentsOn(LocalDate date) {
+        return assignmentsByDate.computeIfAbsent(date, d -> new ArrayList<>());
+    }
+
+    private List<AssignmentRow> rows(LocalDate date) {
+        return assignmentsOn(date).stream()
+                .map(SyntheticFleet::row)
+                .toList();
+    }
+
+    private List<DatedAssignmentRow> datedRows(Collection<LocalDate> dates) {
+        return dates.stream()
+                .flatMap(date -> assignmentsOn(date).stream())
+                .map(assignment -> {
+                    AssignmentRow row = SyntheticFleet.row(assignment);
+
+                    return new DatedAssignmentRow(
+                            assignment.getBooking().getDate(),
+                            row.bookingId(),
+                            row.cleanerId(),
+                            row.startTime(),
+                            row.endTime()
+                    );
+                })
+                .toList();
+    }
+
+    private static Object unsupported(String method) {
+        throw new UnsupportedOperationException(method);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> handler.invoke(proxy, method, args);
+                }
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.time.TimeProvider;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * {@link TimeProvider} stand-in that reads whatever time the replay last set,
+ * so each request sees the clock it saw when it was captured.
+ */
+final class ReplayClock implements TimeProvider {
+
+    private volatile Instant now;
+    private volatile ZoneId zone;
+
+    ReplayClock(Instant now) {
+        this.now = now;
+    }
+
+    ReplayClock in(ZoneId zone) {
+        this.zone = zone;
+        return this;
+    }
+
+    void set(Instant now) {
+        this.now = now;
+    }
+
+    @Override
+    public ZonedDateTime now() {
+        return now.atZone(zone);
+    }
+}
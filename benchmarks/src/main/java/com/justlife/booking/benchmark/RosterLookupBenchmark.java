@@ -0,0 +1,70 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.roster.Roster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one cleaner lookup as the roster grows: an entity-keyed
+ * {@code HashMap} (every entity hashes to its class) versus the id-keyed
+ * {@link Roster} index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RosterLookupBenchmark {
+
+    @Param({"25", "250", "2500", "10000"})
+    public int cleaners;
+
+    private Cleaner[] probes;
+    private Map<Cleaner, Integer> byEntity;
+    private Roster roster;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticFleet fleet = SyntheticFleet.generate(cleaners / 5 + "x5", 0, 42L);
+        List<Cleaner> roster = fleet.cleaners();
+
+        this.roster = Roster.of(fleet.roster());
+        this.byEntity = new HashMap<>();
+        for (int i = 0; i < roster.size(); i++) {
+            byEntity.put(roster.get(i), i);
+        }
+
+        probes = new Cleaner[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = roster.get((i * 7919) % roster.size());
+        }
+    }
+
+    @Benchmark
+    public Integer entityKeyedHashMap() {
+        return byEntity.get(probes[next++ & 1023]);
+    }
+
+    @Benchmark
+    public int idKeyedRoster() {
+        return roster.indexOfCleaner(probes[next++ & 1023].getId());
+    }
+}
@@ -0,0 +1,144 @@
+package com.justlife.booking.benchmark;
+
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.BookingCleaner;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.RosterRow;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fleet of detached entities with ids assigned, plus a day of
+ * single-cleaner bookings at the requested density.
+ */
+final class SyntheticFleet {
+
+    private static final int[] DURATIONS = {60, 120, 180, 240};
+    private static final int[] GAPS = {0, 30, 60, 90};
+
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final List<Cleaner> cleaners = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+
+    private long nextId = 1;
+
+    private SyntheticFleet() {
+    }
+
+    /**
+     * @param shape "vehicles x cleanersPerVehicle", e.g. {@code 2000x5}
+     */
+    static SyntheticFleet generate(String shape, int bookingsPerCleaner, long seed) {
+        String[] parts = shape.split("x");
+        return generate(
+                Integer.parseInt(parts[0]),
+                Integer.parseInt(parts[1]),
+                bookingsPerCleaner,
+                BenchmarkConfig.DATE,
+                seed
+        );
+    }
+
+    static SyntheticFleet generate(
+            int vehicleCount,
+            int cleanersPerVehicle,
+            int bookingsPerCleaner,
+            LocalDate date,
+            long seed
+    ) {
+        SyntheticFleet fleet = new SyntheticFleet();
+        Random random = new Random(seed);
+
+        for (int v = 1; v <= vehicleCount; v++) {
+            Vehicle vehicle = fleet.withId(new Vehicle("Vehicle-" + v));
+            fleet.vehicles.add(vehicle);
+
+            for (int c = 1; c <= cleanersPerVehicle; c++) {
+                Cleaner cleaner = fleet.withId(new Cleaner("Cleaner-" + v + "-" + c));
+                vehicle.addCleaner(cleaner);
+                fleet.cleaners.add(cleaner);
+
+                fleet.bookDay(cleaner, date, bookingsPerCleaner, random);
+            }
+        }
+
+        return fleet;
+    }
+
+    List<Vehicle> vehicles() {
+        return vehicles;
+    }
+
+    List<Cleaner> cleaners() {
+        return cleaners;
+    }
+
+    List<Booking> bookings() {
+        return bookings;
+    }
+
+    List<RosterRow> roster() {
+        return cleaners.stream()
+                .map(c -> new RosterRow(
+                        c.getId(),
+                        c.getName(),
+                        c.getVehicle().getId(),
+                        c.getVehicle().getName()
+                ))
+                .toList();
+    }
+
+    static AssignmentRow row(BookingCleaner assignment) {
+        Booking booking = assignment.getBooking();
+        return new AssignmentRow(
+                booking.getId(),
+                assignment.getCleaner().getId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+    }
+
+    long nextId() {
+        return nextId++;
+    }
+
+    private void bookDay(Cleaner cleaner, LocalDate date, int count, Random random) {
+        LocalTime cursor = LocalTime.of(8, 0).plusMinutes(GAPS[random.nextInt(GAPS.length)]);
+
+        for (int i = 0; i < count; i++) {
+            LocalTime end = cursor.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]);
+
+            if (end.isAfter(LocalTime.of(22, 0)) || end.isBefore(cursor)) {
+                return;
+            }
+
+            Booking booking = withId(new Booking(date, cursor, end, cleaner.getVehicle()));
+            booking.assignCleaner(cleaner);
+            bookings.add(booking);
+
+            cursor = end.plusMinutes(30 + GAPS[random.nextInt(GAPS.length)]);
+        }
+    }
+
+    <T> T withId(T entity) {
+        setId(entity, nextId++);
+        return entity;
+    }
+
+    static void setId(Object entity, long id) {
+        try {
+            Field field = entity.getClass().getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(entity, id);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
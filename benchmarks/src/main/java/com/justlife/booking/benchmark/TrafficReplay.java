@@ -0,0 +1,258 @@
+package com.justlife.booking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.booking.HomeCleaningBookingSystemApplication;
+import com.justlife.booking.capture.Outcomes;
+import com.justlife.booking.capture.TrafficLog;
+import com.justlife.booking.capture.TrafficRecord;
+import com.justlife.booking.config.SchedulingConfig;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a traffic capture against a fresh in-process instance and reports
+ * latency and outcome divergence per endpoint.
+ * <p>
+ * The application boots on H2 with the {@code synthetic} profile unless the
+ * Spring options after the capture file say otherwise; the fleet must match
+ * the one the capture was taken on for outcomes to be comparable. Requests
+ * run one at a time in captured order with the clock set to each one's
+ * captured time, so a replay of an unchanged build reproduces every outcome.
+ * Booking ids in paths are mapped to the ids the replay created, singly or
+ * in a batch; bookings made before the capture started are not, and will
+ * diverge. Requests whose body was truncated at capture are skipped and
+ * counted.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.justlife.booking.benchmark.TrafficReplay \
+ *     traffic.capture [--app.allocation.strategy=first-fit ...]
+ * </pre>
+ */
+public final class TrafficReplay {
+
+    private static final Pattern BOOKING_PATH = Pattern.compile("^/bookings/(\\d+)");
+    private static final long HIGHEST = TimeUnit.MINUTES.toNanos(5);
+    private static final int SHOWN_DIVERGENCES = 20;
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "spring.datasource.url", "jdbc:h2:mem:replay;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name", "org.h2.Driver",
+            "spring.datasource.username", "sa",
+            "spring.datasource.password", "",
+            "spring.jpa.hibernate.ddl-auto", "create-drop",
+            "spring.profiles.active", "synthetic",
+            "spring.devtools.restart.enabled", "false",
+            "server.port", "0",
+            "app.capture.enabled", "false",
+            "logging.level.root", "WARN"
+    );
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Map<Long, Long> bookingIds = new HashMap<>();
+    private final Map<String, Endpoint> endpoints = new TreeMap<>();
+    private final List<String> divergences = new ArrayList<>();
+    private long truncated;
+
+    private final URI baseUrl;
+    private final ReplayClock clock;
+    private final ZoneId zone;
+
+    private TrafficReplay(URI baseUrl, ReplayClock clock, ZoneId zone) {
+        this.baseUrl = baseUrl;
+        this.clock = clock;
+        this.zone = zone;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: TrafficReplay <capture file> [--spring.option=value ...]");
+            System.exit(2);
+        }
+
+        List<TrafficRecord> records = new ArrayList<>();
+        TrafficLog.read(Path.of(args[0]), records::add);
+
+        if (records.isEmpty()) {
+            System.err.println("Capture " + args[0] + " has no records");
+            System.exit(2);
+        }
+
+        // Seeding reads the clock while the context starts, so it already
+        // shows the first captured time.
+        ReplayClock clock = new ReplayClock(records.get(0).now());
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HomeCleaningBookingSystemApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx).registerBean(
+                        ReplayClock.class,
+                        () -> clock.in(ctx.getBean(SchedulingConfig.class).timezone()),
+                        definition -> definition.setPrimary(true)))
+                .run(options(args))) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ZoneId zone = context.getBean(SchedulingConfig.class).timezone();
+
+            TrafficReplay replay = new TrafficReplay(URI.create("http://localhost:" + port), clock, zone);
+            records.forEach(replay::replay);
+            replay.print(System.out, records.size());
+        }
+    }
+
+    private static String[] options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Spring options look like --name=value: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return options.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+    }
+
+    private void replay(TrafficRecord record) {
+        if (record.truncated()) {
+            truncated++;
+            return;
+        }
+
+        clock.set(record.now());
+
+        String path = mappedPath(record.path());
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                baseUrl.resolve(record.query() != null ? path + "?" + record.query() : path)
+        );
+        request.method(record.method(), record.body() != null
+                ? HttpRequest.BodyPublishers.ofString(record.body())
+                : HttpRequest.BodyPublishers.noBody());
+        if (record.body() != null) {
+            request.header("Content-Type", "application/json");
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Replay request failed: " + record.endpoint(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        }
+        long latency = System.nanoTime() - start;
+
+        Endpoint endpoint = endpoints.computeIfAbsent(record.endpoint(), key -> new Endpoint());
+        endpoint.recorded.recordValue(Math.min(record.latencyNanos(), HIGHEST));
+        endpoint.replayed.recordValue(Math.min(latency, HIGHEST));
+
+        int status = response.statusCode();
+        String outcome = record.outcome() != null ? Outcomes.of(status, response.body(), mapper) : null;
+
+        Long createdId = Outcomes.createdId(record.method(), path, status, response.body(), mapper);
+        if (record.createdId() != null && createdId != null) {
+            bookingIds.put(record.createdId(), createdId);
+        }
+
+        List<Long> batchIds = Outcomes.batchIds(record.method(), path, status, response.body(), mapper);
+        if (record.batchIds() != null && batchIds != null) {
+            for (int i = 0; i < Math.min(record.batchIds().size(), batchIds.size()); i++) {
+                if (record.batchIds().get(i) != null && batchIds.get(i) != null) {
+                    bookingIds.put(record.batchIds().get(i), batchIds.get(i));
+                }
+            }
+        }
+
+        if (status != record.status()) {
+            endpoint.statusDiverged++;
+            diverged(record, path, Integer.toString(status), Integer.toString(record.status()));
+        } else if (!Objects.equals(outcome, record.outcome())) {
+            endpoint.outcomeDiverged++;
+            diverged(record, path, outcome, record.outcome());
+        }
+    }
+
+    private String mappedPath(String path) {
+        Matcher matcher = BOOKING_PATH.matcher(path);
+
+        if (!matcher.find()) {
+            return path;
+        }
+
+        Long mapped = bookingIds.get(Long.parseLong(matcher.group(1)));
+        return mapped != null ? "/bookings/" + mapped + path.substring(matcher.end()) : path;
+    }
+
+    private void diverged(TrafficRecord record, String path, String replayed, String captured) {
+        if (divergences.size() < SHOWN_DIVERGENCES) {
+            divergences.add(String.format("%s %s %s at %s%n    captured: %s%n    replayed: %s",
+                    record.method(), path, record.query() != null ? "?" + record.query() : "",
+                    record.now().atZone(zone), captured, replayed));
+        }
+    }
+
+    private void print(PrintStream out, int records) {
+        out.printf("%nReplayed %d requests%n", records);
+        out.printf("%-44s %7s %7s %8s %17s %17s %17s%n",
+                "endpoint", "count", "status", "outcome", "p50 ms cap/rep", "p99 ms cap/rep", "p999 ms cap/rep");
+
+        long diverged = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint e = entry.getValue();
+            diverged += e.statusDiverged + e.outcomeDiverged;
+
+            out.printf("%-44s %7d %7d %8d %17s %17s %17s%n",
+                    entry.getKey(),
+                    e.recorded.getTotalCount(),
+                    e.statusDiverged,
+                    e.outcomeDiverged,
+                    e.percentile(50),
+                    e.percentile(99),
+                    e.percentile(99.9));
+        }
+
+        out.printf("%n%d of %d requests diverged%n", diverged, records);
+        if (truncated > 0) {
+            out.printf("%d requests skipped: their bodies were truncated at capture%n", truncated);
+        }
+        divergences.forEach(out::println);
+    }
+
+    private static final class Endpoint {
+
+        final Histogram recorded = new Histogram(HIGHEST, 3);
+        final Histogram replayed = new Histogram(HIGHEST, 3);
+        long statusDiverged;
+        long outcomeDiverged;
+
+        String percentile(double percentile) {
+            return String.format("%.2f/%.2f",
+                    recorded.getValueAtPercentile(percentile) / 1e6,
+                    replayed.getValueAtPercentile(percentile) / 1e6);
+        }
+    }
+}
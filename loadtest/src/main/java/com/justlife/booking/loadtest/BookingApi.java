@@ -0,0 +1,146 @@
+package com.justlife.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds the requests of a run and keeps the bookings it has made, so
+ * reschedules and cancels act on real ids. When none are left those calls
+ * are issued as creates instead.
+ */
+final class BookingApi {
+
+    // Mirrors the service's default working hours.
+    private static final LocalTime OPEN = LocalTime.of(8, 0);
+    private static final LocalTime CLOSE = LocalTime.of(22, 0);
+    private static final int STEP_MINUTES = 30;
+
+    private static final int[] DURATIONS = {120, 240};
+    private static final int[] CLEANER_COUNTS = {1, 1, 2, 3};
+    private static final int WINDOW_MINUTES = 120;
+
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final List<LocalDate> dates;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final ConcurrentLinkedDeque<Long> bookings = new ConcurrentLinkedDeque<>();
+
+    BookingApi(LoadConfig config) {
+        this.baseUrl = config.baseUrl();
+        this.timeout = config.timeout();
+        this.dates = config.from()
+                .datesUntil(config.from().plusDays(config.days()))
+                .filter(date -> date.getDayOfWeek() != config.nonWorkingDay())
+                .toList();
+
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("No working days between --from and --days");
+        }
+    }
+
+    record Call(Operation operation, HttpRequest request, Long bookingId) {}
+
+    Call prepare(Operation wanted, RandomGenerator random) {
+        Long bookingId = wanted.needsBooking() ? bookings.pollFirst() : null;
+        Operation operation = wanted.needsBooking() && bookingId == null ? Operation.CREATE : wanted;
+
+        LocalDate date = dates.get(random.nextInt(dates.size()));
+        int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+        LocalTime start = start(duration, random);
+
+        HttpRequest request = switch (operation) {
+            case CREATE -> json("/bookings")
+                    .POST(body("""
+                            {"date":"%s","startTime":"%s","durationMinutes":%d,"cleanerCount":%d}"""
+                            .formatted(date, start, duration, CLEANER_COUNTS[random.nextInt(CLEANER_COUNTS.length)])))
+                    .build();
+            case RESCHEDULE -> json("/bookings/" + bookingId + "/reschedule")
+                    .PUT(body("""
+                            {"date":"%s","startTime":"%s"}""".formatted(date, start)))
+                    .build();
+            case CANCEL -> request("/bookings/" + bookingId).DELETE().build();
+            case DAILY -> request("/availability/date?date=" + date).GET().build();
+            case WINDOW -> request("/availability/cleaners?date=" + date
+                    + "&startTime=" + start(WINDOW_MINUTES, random)
+                    + "&durationMinutes=" + WINDOW_MINUTES).GET().build();
+        };
+
+        return new Call(operation, request, bookingId);
+    }
+
+    /**
+     * Puts the booking the call made or acted on back in the pool, unless the
+     * call removed it or showed it can no longer change.
+     */
+    void completed(Call call, HttpResponse<String> response) {
+        int status = response.statusCode();
+
+        switch (call.operation()) {
+            case CREATE -> {
+                if (status == 201) {
+                    bookings.addLast(bookingId(response.body()));
+                }
+            }
+            case RESCHEDULE -> {
+                if (status == 200 || status == 409) {
+                    bookings.addLast(call.bookingId());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    void failed(Call call) {
+        if (call.operation() == Operation.RESCHEDULE) {
+            bookings.addLast(call.bookingId());
+        }
+    }
+
+    int bookings() {
+        return bookings.size();
+    }
+
+    private long bookingId(String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("bookingId");
+
+            if (id == null || !id.canConvertToLong()) {
+                throw new IllegalStateException("Booking response without an id: " + body);
+            }
+            return id.asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private LocalTime start(int durationMinutes, RandomGenerator random) {
+        int steps = (int) (Duration.between(OPEN, CLOSE).toMinutes() - durationMinutes) / STEP_MINUTES;
+        return OPEN.plusMinutes((long) random.nextInt(steps + 1) * STEP_MINUTES);
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout);
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+}
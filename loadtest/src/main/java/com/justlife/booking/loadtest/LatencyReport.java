@@ -0,0 +1,159 @@
+package com.justlife.booking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms of one stage, per endpoint and response status.
+ * <p>
+ * Latencies run from when a request was due, not when it was sent, so a
+ * generator held back by a slow server still charges the wait to the server.
+ * Status 0 stands for a request that got no response.
+ */
+final class LatencyReport {
+
+    static final int NO_RESPONSE = 0;
+
+    private static final long HIGHEST = TimeUnit.MINUTES.toNanos(5);
+    private static final int DIGITS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    record Key(Operation operation, int status) {}
+
+    private final ConcurrentMap<Key, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+    private final LongAdder busyNanos = new LongAdder();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, int status, long nanos) {
+        histograms.computeIfAbsent(new Key(operation, status), key -> new ConcurrentHistogram(HIGHEST, DIGITS))
+                .recordValue(Math.min(nanos, HIGHEST));
+        busyNanos.add(nanos);
+    }
+
+    void dropped(Operation operation) {
+        dropped.get(operation).increment();
+    }
+
+    long count(Operation operation, int status) {
+        Histogram histogram = histograms.get(new Key(operation, status));
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    long count(Operation operation) {
+        return histograms.entrySet().stream()
+                .filter(e -> e.getKey().operation() == operation)
+                .mapToLong(e -> e.getValue().getTotalCount())
+                .sum();
+    }
+
+    long count() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long dropped() {
+        return dropped.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return the share of the operation's responses that were 409s
+     */
+    double conflictRate(Operation operation) {
+        long all = count(operation);
+        return all == 0 ? 0 : (double) count(operation, 409) / all;
+    }
+
+    /**
+     * @return mean requests outstanding over the window, by Little's law
+     */
+    double concurrency(Duration window) {
+        return (double) busyNanos.sum() / window.toNanos();
+    }
+
+    void print(PrintStream out, Duration window) {
+        double seconds = window.toNanos() / 1e9;
+
+        out.printf("%-32s %6s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "status", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        for (Operation operation : Operation.values()) {
+            Histogram all = new Histogram(HIGHEST, DIGITS);
+
+            histograms.entrySet().stream()
+                    .filter(e -> e.getKey().operation() == operation)
+                    .sorted(Comparator.comparingInt(e -> e.getKey().status()))
+                    .forEach(e -> {
+                        all.add(e.getValue());
+                        row(out, operation.endpoint(), status(e.getKey().status()), e.getValue(), seconds);
+                    });
+
+            if (all.getTotalCount() > 0) {
+                row(out, operation.endpoint(), "all", all, seconds);
+            }
+            if (dropped.get(operation).sum() > 0) {
+                out.printf("%-32s %6s %9d%n", operation.endpoint(), "drop", dropped.get(operation).sum());
+            }
+        }
+    }
+
+    /**
+     * Writes each histogram's percentile distribution as an {@code .hgrm}
+     * file, the format HdrHistogram's plotter reads.
+     */
+    void write(Path dir, String stage) {
+        try {
+            Files.createDirectories(dir);
+
+            for (Map.Entry<Key, Histogram> entry : histograms.entrySet()) {
+                Key key = entry.getKey();
+                Path file = dir.resolve(stage + "-" + key.operation().name().toLowerCase()
+                        + "-" + status(key.status()) + ".hgrm");
+
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void row(PrintStream out, String endpoint, String status, Histogram histogram, double seconds) {
+        out.printf("%-32s %6s %9d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint,
+                status,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static String status(int status) {
+        return status == NO_RESPONSE ? "none" : Integer.toString(status);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,136 @@
+package com.justlife.booking.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of a load run; every option is {@code --name=value}.
+ *
+ * @param rates      offered requests per second, one open-model stage per rate
+ * @param clients    concurrent clients, one closed-model stage per count
+ * @param think      pause of each client between its requests
+ * @param maxInFlight requests allowed outstanding before new arrivals are dropped
+ * @param hdrDir     directory for per-stage {@code .hgrm} files, or null
+ */
+public record LoadConfig(
+        URI baseUrl,
+        List<Integer> rates,
+        List<Integer> clients,
+        Duration think,
+        Duration warmup,
+        Duration duration,
+        Mix mix,
+        boolean poisson,
+        int maxInFlight,
+        LocalDate from,
+        int days,
+        DayOfWeek nonWorkingDay,
+        Duration timeout,
+        Path hdrDir
+) {
+
+    private static final Set<String> OPTIONS = Set.of(
+            "base-url", "rates", "clients", "think", "warmup", "duration", "mix", "arrivals", "max-in-flight",
+            "from", "days", "non-working-day", "timeout", "hdr-dir"
+    );
+
+    public static final String USAGE = """
+            Usage: java -jar loadtest/target/loadtest.jar [--name=value ...]
+              --base-url=http://localhost:8080
+              --rates=50,100,200                 offered requests/s, one stage each
+              --clients=1000,10000 --think=0ms   closed-loop clients, one stage each
+              --warmup=10s --duration=30s        per stage
+              --mix=create=40,reschedule=10,cancel=10,daily=20,window=20
+              --arrivals=poisson|uniform
+              --max-in-flight=2000
+              --from=<tomorrow> --days=14 --non-working-day=FRIDAY
+              --timeout=10s
+              --hdr-dir=<dir>                    write .hgrm percentile files
+            """;
+
+    public static LoadConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options look like --name=value: " + arg);
+            }
+
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        String arrivals = options.getOrDefault("arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("uniform")) {
+            throw new IllegalArgumentException("Arrivals must be poisson or uniform: " + arrivals);
+        }
+
+        // Without either option a single 50 req/s stage runs.
+        List<Integer> rates = counts(options.getOrDefault("rates", options.containsKey("clients") ? "" : "50"));
+        List<Integer> clients = counts(options.getOrDefault("clients", ""));
+
+        return new LoadConfig(
+                URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+                rates,
+                clients,
+                duration(options.getOrDefault("think", "0ms")),
+                duration(options.getOrDefault("warmup", "10s")),
+                duration(options.getOrDefault("duration", "30s")),
+                Mix.parse(options.getOrDefault("mix", "create=40,reschedule=10,cancel=10,daily=20,window=20")),
+                arrivals.equals("poisson"),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                options.containsKey("from")
+                        ? LocalDate.parse(options.get("from"))
+                        : LocalDate.now().plusDays(1),
+                Integer.parseInt(options.getOrDefault("days", "14")),
+                DayOfWeek.valueOf(options.getOrDefault("non-working-day", "FRIDAY").toUpperCase(Locale.ROOT)),
+                duration(options.getOrDefault("timeout", "10s")),
+                options.containsKey("hdr-dir") ? Path.of(options.get("hdr-dir")) : null
+        );
+    }
+
+    private static List<Integer> counts(String value) {
+        List<Integer> counts = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(count -> !count.isEmpty())
+                .map(Integer::parseInt)
+                .toList();
+
+        if (counts.stream().anyMatch(count -> count <= 0)) {
+            throw new IllegalArgumentException("Rates and client counts must be positive: " + value);
+        }
+        return counts;
+    }
+
+    // Accepts 500ms, 30s and 2m as well as ISO-8601 (PT30S).
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+
+        if (v.startsWith("pt")) {
+            return Duration.parse(v);
+        }
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        throw new IllegalArgumentException("Durations look like 500ms, 30s or 2m: " + value);
+    }
+}
@@ -0,0 +1,129 @@
+package com.justlife.booking.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs one stage of load for a warm-up and a measured window.
+ * <p>
+ * {@link #run} is an open model: arrivals follow the schedule whether or not
+ * earlier requests have finished, each on its own virtual thread, so a slow
+ * server builds up concurrency instead of slowing the generator down.
+ * Arrivals past the in-flight limit are dropped and counted rather than
+ * queued. {@link #runClosed} is a closed model instead: a fixed number of
+ * clients, each a virtual thread sending its next request once the previous
+ * one is answered.
+ */
+final class LoadStage {
+
+    private final HttpClient client;
+    private final BookingApi api;
+    private final LoadConfig config;
+
+    LoadStage(HttpClient client, BookingApi api, LoadConfig config) {
+        this.client = client;
+        this.api = api;
+        this.config = config;
+    }
+
+    /**
+     * @return the report of the measured window; warm-up requests are discarded
+     */
+    LatencyReport run(int rate) {
+        LatencyReport warmup = new LatencyReport();
+        LatencyReport measured = new LatencyReport();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        SplittableRandom random = new SplittableRandom();
+
+        double meanGapNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long due = start;
+
+            while (due < end) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                LatencyReport report = due < measureFrom ? warmup : measured;
+                Operation operation = config.mix().pick(random.nextDouble());
+
+                if (inFlight.tryAcquire()) {
+                    BookingApi.Call call = api.prepare(operation, random);
+                    long intended = due;
+
+                    executor.execute(() -> {
+                        try {
+                            send(call, intended, report);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    report.dropped(operation);
+                }
+
+                due += config.poisson()
+                        ? (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos)
+                        : (long) meanGapNanos;
+            }
+        }
+
+        return measured;
+    }
+
+    /**
+     * @return the report of the measured window; warm-up requests are discarded
+     */
+    LatencyReport runClosed(int clients) {
+        LatencyReport warmup = new LatencyReport();
+        LatencyReport measured = new LatencyReport();
+        SplittableRandom seeds = new SplittableRandom();
+
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = seeds.split();
+
+                executor.execute(() -> {
+                    for (long sent = System.nanoTime(); sent < end; sent = System.nanoTime()) {
+                        BookingApi.Call call = api.prepare(config.mix().pick(random.nextDouble()), random);
+                        send(call, sent, sent < measureFrom ? warmup : measured);
+
+                        if (!config.think().isZero()) {
+                            LockSupport.parkNanos(config.think().toNanos());
+                        }
+                    }
+                });
+            }
+        }
+
+        return measured;
+    }
+
+    private void send(BookingApi.Call call, long intended, LatencyReport report) {
+        try {
+            HttpResponse<String> response = client.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            report.record(call.operation(), response.statusCode(), System.nanoTime() - intended);
+            api.completed(call, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.record(call.operation(), LatencyReport.NO_RESPONSE, System.nanoTime() - intended);
+            api.failed(call);
+        } catch (Exception e) {
+            report.record(call.operation(), LatencyReport.NO_RESPONSE, System.nanoTime() - intended);
+            api.failed(call);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.justlife.booking.loadtest;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives the booking API of a running application, one stage per offered
+ * rate and then one per client count, and prints HDR latency percentiles per
+ * endpoint and status for each stage followed by a summary of how throughput,
+ * concurrency and the 409 rate moved from stage to stage.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) {
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        PrintStream out = System.out;
+        Map<String, LatencyReport> reports = new LinkedHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(executor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(config.timeout())
+                     .build()) {
+
+            BookingApi api = new BookingApi(config);
+            LoadStage stage = new LoadStage(client, api, config);
+
+            out.printf("Load test against %s, mix %s, %s arrivals, %s warm-up + %s per stage%n",
+                    config.baseUrl(), config.mix(), config.poisson() ? "poisson" : "uniform",
+                    config.warmup(), config.duration());
+
+            for (int rate : config.rates()) {
+                report(out, config, reports, rate + "/s", "rate-" + rate, stage.run(rate));
+            }
+            for (int clients : config.clients()) {
+                report(out, config, reports, clients + " clients", "clients-" + clients, stage.runClosed(clients));
+            }
+
+            summary(out, reports, config);
+        }
+    }
+
+    private static void report(
+            PrintStream out,
+            LoadConfig config,
+            Map<String, LatencyReport> reports,
+            String stage,
+            String file,
+            LatencyReport report
+    ) {
+        reports.put(stage, report);
+
+        out.printf("%n== %s ==%n", stage);
+        report.print(out, config.duration());
+
+        if (config.hdrDir() != null) {
+            report.write(config.hdrDir(), file);
+        }
+    }
+
+    private static void summary(PrintStream out, Map<String, LatencyReport> reports, LoadConfig config) {
+        double seconds = config.duration().toNanos() / 1e9;
+
+        out.printf("%n== Summary ==%n");
+        out.printf("%14s %11s %9s %12s %13s %14s%n",
+                "stage", "completed/s", "dropped", "concurrency", "create 409 %", "resched 409 %");
+
+        reports.forEach((stage, report) -> out.printf("%14s %11.1f %9d %12.1f %13.1f %14.1f%n",
+                stage,
+                report.count() / seconds,
+                report.dropped(),
+                report.concurrency(config.duration()),
+                report.conflictRate(Operation.CREATE) * 100,
+                report.conflictRate(Operation.RESCHEDULE) * 100));
+    }
+}
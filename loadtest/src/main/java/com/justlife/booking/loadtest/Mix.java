@@ -0,0 +1,75 @@
+package com.justlife.booking.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Relative weights of the operations in a run, e.g.
+ * {@code create=40,reschedule=10,cancel=10,daily=20,window=20}.
+ */
+public final class Mix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final double[] cumulative;
+
+    private Mix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+
+        if (total <= 0) {
+            throw new IllegalArgumentException("Mix must give at least one operation a positive weight");
+        }
+
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulative = new double[operations.length];
+
+        double running = 0;
+        for (int i = 0; i < operations.length; i++) {
+            running += weights.get(operations[i]);
+            cumulative[i] = running / total;
+        }
+    }
+
+    public static Mix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like operation=weight: " + part);
+            }
+
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + part);
+            }
+
+            weights.put(Operation.parse(pair[0]), weight);
+        }
+
+        return new Mix(weights);
+    }
+
+    /**
+     * @param uniform a value in [0, 1)
+     */
+    public Operation pick(double uniform) {
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (uniform < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(e -> e.getKey().name().toLowerCase(Locale.ROOT) + "=" + e.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
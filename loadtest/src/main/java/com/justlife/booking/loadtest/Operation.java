@@ -0,0 +1,41 @@
+package com.justlife.booking.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The API calls the load generator can issue, named as they appear in the
+ * {@code --mix} option.
+ */
+public enum Operation {
+
+    CREATE("POST /bookings"),
+    RESCHEDULE("PUT /bookings/{id}/reschedule"),
+    CANCEL("DELETE /bookings/{id}"),
+    DAILY("GET /availability/date"),
+    WINDOW("GET /availability/cleaners");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Reschedules and cancels need a booking made earlier in the run.
+     */
+    public boolean needsBooking() {
+        return this == RESCHEDULE || this == CANCEL;
+    }
+
+    public static Operation parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown operation: " + name);
+        }
+    }
+}
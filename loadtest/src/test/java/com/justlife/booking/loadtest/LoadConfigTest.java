@@ -0,0 +1,80 @@
+package com.justlife.booking.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadConfigTest {
+
+    @Test
+    void shouldParseEveryOption() {
+        LoadConfig config = LoadConfig.parse(
+                "--base-url=http://node:9090",
+                "--rates=100, 200",
+                "--warmup=500ms",
+                "--duration=2m",
+                "--mix=create=3,window=1",
+                "--arrivals=uniform",
+                "--from=2030-01-07",
+                "--days=7",
+                "--non-working-day=sunday"
+        );
+
+        assertEquals("http://node:9090", config.baseUrl().toString());
+        assertEquals(List.of(100, 200), config.rates());
+        assertEquals(Duration.ofMillis(500), config.warmup());
+        assertEquals(Duration.ofMinutes(2), config.duration());
+        assertFalse(config.poisson());
+        assertEquals(LocalDate.of(2030, 1, 7), config.from());
+        assertEquals(DayOfWeek.SUNDAY, config.nonWorkingDay());
+        assertEquals(Duration.ofSeconds(10), config.timeout());
+    }
+
+    @Test
+    void shouldRunClientStagesInsteadOfTheDefaultRate() {
+        LoadConfig config = LoadConfig.parse("--clients=1000,10000", "--think=50ms");
+
+        assertEquals(List.of(), config.rates());
+        assertEquals(List.of(1000, 10000), config.clients());
+        assertEquals(Duration.ofMillis(50), config.think());
+        assertEquals(List.of(50), LoadConfig.parse().rates());
+    }
+
+    @Test
+    void shouldRejectUnknownOptionsAndRates() {
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse("--rate=10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse("--rates=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse("--clients=-1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse("--arrivals=burst"));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse("rates=10"));
+    }
+
+    @Test
+    void shouldPickOperationsInProportionToTheirWeights() {
+        Mix mix = Mix.parse("create=3,cancel=0,window=1");
+        Map<Operation, Integer> picks = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 1000; i++) {
+            picks.merge(mix.pick(i / 1000.0), 1, Integer::sum);
+        }
+
+        assertEquals(750, picks.get(Operation.CREATE));
+        assertEquals(250, picks.get(Operation.WINDOW));
+        assertFalse(picks.containsKey(Operation.CANCEL));
+    }
+
+    @Test
+    void shouldRejectAMixWithoutWeight() {
+        assertThrows(IllegalArgumentException.class, () -> Mix.parse("create=0"));
+        assertThrows(IllegalArgumentException.class, () -> Mix.parse("book=1"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.justlife.booking.advice;
 
+import com.justlife.booking.service.NoCapacityException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -60,6 +62,17 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(NoCapacityException.class)
+    public ResponseEntity<?> handleNoCapacity(NoCapacityException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(error(
+                        HttpStatus.CONFLICT,
+                        ex.getMessage(),
+                        Map.of("alternatives", ex.getAlternatives())
+                ));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<?> handleConflict(IllegalStateException ex) {
         return ResponseEntity
@@ -86,11 +99,19 @@ public class GlobalExceptionHandler {
             HttpStatus status,
             String message
     ) {
-        return Map.of(
-                "timestamp", Instant.now(),
-                "status", status.value(),
-                "error", status.getReasonPhrase(),
-                "message", message
-        );
+        return error(status, message, Map.of());
+    }
+
+    private Map<String, Object> error(
+            HttpStatus status,
+            String message,
+            Map<String, Object> details
+    ) {
+        Map<String, Object> body = new HashMap<>(details);
+        body.put("timestamp", Instant.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        return body;
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.config.SchedulingConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks serialising allocations that compete for the same cleaners.
+ * <p>
+ * Stripes are keyed by booking date, and also by vehicle when vehicle locks
+ * are enabled, so allocations for unrelated dates and vehicles run in
+ * parallel. A successful claim holds its stripe until the surrounding
+ * transaction completes, so the next claim on the stripe sees the committed
+ * assignments. The locks only cover this process.
+ */
+@Component
+public class AllocationLocks {
+
+    private static final long ANY_VEHICLE = 0L;
+
+    private final ReentrantLock[] stripes;
+    private final boolean vehicleLocks;
+
+    public AllocationLocks(SchedulingConfig schedulingConfig) {
+        SchedulingConfig.Allocation allocation = schedulingConfig.allocation();
+
+        int count = 1;
+        while (count < allocation.lockStripes()) {
+            count <<= 1;
+        }
+
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.vehicleLocks = allocation.vehicleLocks();
+    }
+
+    public boolean vehicleLocks() {
+        return vehicleLocks;
+    }
+
+    public <T> Optional<T> claim(LocalDate date, Supplier<Optional<T>> allocation) {
+        return claim(date, ANY_VEHICLE, allocation);
+    }
+
+    /**
+     * Runs {@code allocation} under the stripe of {@code (date, vehicleId)}.
+     * The stripe is released straight away when nothing was allocated or no
+     * transaction is active, and at transaction completion otherwise.
+     */
+    public <T> Optional<T> claim(
+            LocalDate date,
+            long vehicleId,
+            Supplier<Optional<T>> allocation
+    ) {
+        ReentrantLock lock = stripe(date, vehicleId);
+        lock.lock();
+
+        Optional<T> result = Optional.empty();
+        try {
+            result = allocation.get();
+        } finally {
+            if (result.isEmpty()
+                    || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                lock.unlock();
+            } else {
+                TransactionSynchronizationManager.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public void afterCompletion(int status) {
+                                lock.unlock();
+                            }
+                        }
+                );
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs {@code allocation} under every stripe a single claim on one of
+     * {@code dates} could take, and holds them until the surrounding
+     * transaction completes. Stripes are taken in index order, so concurrent
+     * batches cannot deadlock each other.
+     */
+    public <T> T claimAll(
+            Collection<LocalDate> dates,
+            long[] vehicleIds,
+            Supplier<T> allocation
+    ) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (LocalDate date : dates) {
+            if (!vehicleLocks) {
+                indexes.add(index(date, ANY_VEHICLE));
+                continue;
+            }
+            for (long vehicleId : vehicleIds) {
+                indexes.add(index(date, vehicleId));
+            }
+        }
+
+        ReentrantLock[] held = indexes.stream()
+                .map(i -> stripes[i])
+                .toArray(ReentrantLock[]::new);
+
+        int locked = 0;
+        try {
+            for (ReentrantLock lock : held) {
+                lock.lock();
+                locked++;
+            }
+
+            T result = allocation.get();
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public void afterCompletion(int status) {
+                                unlock(held, held.length);
+                            }
+                        }
+                );
+                locked = 0;
+            }
+
+            return result;
+        } finally {
+            unlock(held, locked);
+        }
+    }
+
+    ReentrantLock stripe(LocalDate date, long vehicleId) {
+        return stripes[index(date, vehicleId)];
+    }
+
+    private int index(LocalDate date, long vehicleId) {
+        long h = (date.toEpochDay() * 31 + vehicleId) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & (stripes.length - 1);
+    }
+
+    private static void unlock(ReentrantLock[] held, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            held[i].unlock();
+        }
+    }
+}
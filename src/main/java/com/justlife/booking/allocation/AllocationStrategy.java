@@ -0,0 +1,26 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.occupancy.SlotFit;
+
+/**
+ * Decides which free cleaners a booking gets, and on which vehicle.
+ * <p>
+ * Every free cleaner of a vehicle is scored from where the booking would sit
+ * in its day. A vehicle offers its lowest-scored cleaners, and the vehicle
+ * with the lowest total wins, earlier vehicles in the roster winning ties.
+ */
+public interface AllocationStrategy {
+
+    /**
+     * @return the cost of giving the booking to a cleaner, lower is better
+     */
+    long score(SlotFit fit);
+
+    /**
+     * @return true to take the first vehicle with enough free cleaners, in
+     *         roster order, without scoring anything
+     */
+    default boolean firstFit() {
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.justlife.booking.allocation;
+
+/**
+ * The allocation strategies that can be selected in configuration.
+ */
+public enum AllocationStrategyType {
+
+    FIRST_FIT(new FirstFitStrategy()),
+    BEST_FIT(new BestFitStrategy()),
+    LEAST_LOADED(new LeastLoadedStrategy());
+
+    private final AllocationStrategy strategy;
+
+    AllocationStrategyType(AllocationStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public AllocationStrategy strategy() {
+        return strategy;
+    }
+}
@@ -0,0 +1,25 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.occupancy.SlotFit;
+
+/**
+ * Prefers the cleaners whose free gap the booking fills most tightly.
+ * <p>
+ * Leftover time on either side that is too short for another booking of the
+ * same length is counted as waste first; among equal waste the smaller total
+ * leftover wins, so large gaps stay whole for large bookings.
+ */
+public final class BestFitStrategy implements AllocationStrategy {
+
+    @Override
+    public long score(SlotFit fit) {
+        int waste = unusable(fit.slackBefore(), fit.claimSlots())
+                + unusable(fit.slackAfter(), fit.claimSlots());
+
+        return ((long) waste << 32) + fit.slackBefore() + fit.slackAfter();
+    }
+
+    private static int unusable(int slack, int claimSlots) {
+        return slack < claimSlots ? slack : 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.occupancy.SlotFit;
+
+/**
+ * Takes the first vehicle with enough free cleaners and its first free
+ * cleaners, in roster order.
+ */
+public final class FirstFitStrategy implements AllocationStrategy {
+
+    @Override
+    public long score(SlotFit fit) {
+        return 0;
+    }
+
+    @Override
+    public boolean firstFit() {
+        return true;
+    }
+}
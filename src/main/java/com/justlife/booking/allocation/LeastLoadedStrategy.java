@@ -0,0 +1,15 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.occupancy.SlotFit;
+
+/**
+ * Prefers the cleaners with the fewest claimed slots that day, spreading work
+ * evenly across the fleet.
+ */
+public final class LeastLoadedStrategy implements AllocationStrategy {
+
+    @Override
+    public long score(SlotFit fit) {
+        return fit.busySlots();
+    }
+}
@@ -0,0 +1,10 @@
+package com.justlife.booking.availability;
+
+import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
+
+import java.util.List;
+
+public record DailyAvailability(
+        String etag,
+        List<VehicleDailyAvailabilityDto> vehicles
+) {}
@@ -0,0 +1,97 @@
+package com.justlife.booking.availability;
+
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of computed daily availability.
+ * <p>
+ * Entries are keyed by everything the result depends on, so they are never
+ * invalidated: a change produces a new key, and superseded entries are
+ * evicted least recently used first. Date versions are read from the
+ * database, so bookings made on other nodes change the key too. Tags include
+ * a per-process epoch, as the roster generation is counted per process, so a
+ * tag handed out before a restart or by another node never matches.
+ */
+@Component
+public class DailyAvailabilityCache {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Key, List<VehicleDailyAvailabilityDto>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DailyAvailabilityCache(SchedulingConfig schedulingConfig) {
+        int capacity = schedulingConfig.availability().cacheSize();
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Key, List<VehicleDailyAvailabilityDto>> eldest
+            ) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public String tag(Key key) {
+        return epoch
+                + "-" + key.date()
+                + "-" + key.version()
+                + "-" + key.rosterGeneration()
+                + "-" + key.dayStart().toSecondOfDay();
+    }
+
+    public List<VehicleDailyAvailabilityDto> get(
+            Key key,
+            Supplier<List<VehicleDailyAvailabilityDto>> compute
+    ) {
+        synchronized (entries) {
+            List<VehicleDailyAvailabilityDto> cached = entries.get(key);
+
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        List<VehicleDailyAvailabilityDto> computed = compute.get();
+
+        synchronized (entries) {
+            entries.put(key, computed);
+        }
+
+        return computed;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * @param version          booking version of the date
+     * @param rosterGeneration generation of the cached roster
+     * @param dayStart         first bookable time of the date
+     */
+    public record Key(
+            LocalDate date,
+            long version,
+            long rosterGeneration,
+            LocalTime dayStart
+    ) {}
+}
@@ -0,0 +1,101 @@
+package com.justlife.booking.availability;
+
+import com.justlife.booking.config.SchedulingConfig;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into one.
+ * <p>
+ * The first caller for a key runs the computation on its own thread; callers
+ * arriving while it runs wait for its result, or its exception, instead of
+ * running their own. A waiter that is still waiting after the coalesce
+ * timeout gives up on the shared computation and runs its own, so a stuck
+ * computation costs no more than having no coalescing. Keys must capture
+ * everything the result depends on.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight =
+            new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public SingleFlight(SchedulingConfig schedulingConfig) {
+        Duration timeout = schedulingConfig.availability().coalesceTimeout();
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> computation) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+
+        if (leader == null) {
+            return lead(key, flight, computation);
+        }
+
+        coalesced.incrementAndGet();
+        try {
+            return (T) leader.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            executed.incrementAndGet();
+            return computation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for availability", e);
+        }
+    }
+
+    public long executed() {
+        return executed.get();
+    }
+
+    public long coalesced() {
+        return coalesced.get();
+    }
+
+    public long timedOut() {
+        return timedOut.get();
+    }
+
+    private <T> T lead(Object key, CompletableFuture<Object> flight, Supplier<T> computation) {
+        executed.incrementAndGet();
+        try {
+            T result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.justlife.booking.capture;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Traffic capture switch; records are appended to {@code file}.
+ */
+@ConfigurationProperties(prefix = "app.capture")
+public record CaptureConfig(
+        boolean enabled,
+        Path file
+) {}
@@ -0,0 +1,150 @@
+package com.justlife.booking.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Records booking and availability requests to a {@link TrafficLog} for
+ * replay, together with the clock the services saw and the outcome they
+ * produced.
+ * <p>
+ * The streamed range endpoint is recorded without an outcome: its body is
+ * written after the request thread returns and is not buffered.
+ * <p>
+ * Request bodies are kept up to {@value #MAX_BODY_BYTES} bytes; a longer one
+ * is recorded cut short and marked truncated.
+ * <p>
+ * A record that cannot be written is dropped and counted in
+ * {@code capture.dropped}; the request it describes is unaffected.
+ */
+@Component
+@ConditionalOnProperty(name = "app.capture.enabled", havingValue = "true")
+@EnableConfigurationProperties(CaptureConfig.class)
+public class CaptureFilter extends OncePerRequestFilter {
+
+    // A full batch of 1000 bookings is about 100 KB.
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final String STREAMED = "/availability/range";
+
+    private final TimeProvider timeProvider;
+    private final ObjectMapper objectMapper;
+    private final TrafficLog log;
+    private final Counter dropped;
+
+    public CaptureFilter(
+            TimeProvider timeProvider,
+            ObjectMapper objectMapper,
+            CaptureConfig config,
+            MeterRegistry registry
+    ) {
+        this.timeProvider = timeProvider;
+        this.objectMapper = objectMapper;
+        this.log = TrafficLog.open(config.file());
+        this.dropped = Counter.builder("capture.dropped")
+                .description("Traffic records that could not be written")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/bookings") && !path.startsWith("/availability");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+        Instant receivedAt = Instant.now();
+        Instant now = timeProvider.now().toInstant();
+        long start = System.nanoTime();
+
+        boolean[] truncated = {false};
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request, MAX_BODY_BYTES) {
+            @Override
+            protected void handleContentOverflow(int contentCacheLimit) {
+                truncated[0] = true;
+            }
+        };
+        ContentCachingResponseWrapper cachingResponse = STREAMED.equals(request.getRequestURI())
+                ? null
+                : new ContentCachingResponseWrapper(response);
+
+        try {
+            chain.doFilter(cachingRequest, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            long latency = System.nanoTime() - start;
+            byte[] body = cachingResponse != null ? cachingResponse.getContentAsByteArray() : null;
+            int status = cachingResponse != null ? cachingResponse.getStatus() : response.getStatus();
+
+            if (cachingResponse != null) {
+                cachingResponse.copyBodyToResponse();
+            }
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            byte[] requestBody = cachingRequest.getContentAsByteArray();
+
+            append(new TrafficRecord(
+                    receivedAt,
+                    now,
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    pattern != null ? pattern.toString() : null,
+                    request.getQueryString(),
+                    requestBody.length > 0 ? new String(requestBody, StandardCharsets.UTF_8) : null,
+                    truncated[0],
+                    status,
+                    latency,
+                    body != null
+                            ? Outcomes.createdId(request.getMethod(), request.getRequestURI(), status, body, objectMapper)
+                            : null,
+                    body != null ? Outcomes.of(status, body, objectMapper) : null,
+                    body != null
+                            ? Outcomes.batchIds(request.getMethod(), request.getRequestURI(), status, body, objectMapper)
+                            : null
+            ));
+        }
+    }
+
+    private void append(TrafficRecord record) {
+        try {
+            log.append(record);
+        } catch (UncheckedIOException e) {
+            dropped.increment();
+
+            if (dropped.count() == 1) {
+                logger.warn("Could not write to the traffic capture; "
+                        + "records that fail are dropped and counted in capture.dropped", e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.warn("Could not close the traffic capture", e);
+        }
+    }
+}
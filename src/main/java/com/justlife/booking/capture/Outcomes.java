@@ -0,0 +1,90 @@
+package com.justlife.booking.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Reduces a response to what a replay should reproduce, leaving out what
+ * legitimately differs between runs: booking ids, error timestamps.
+ * <p>
+ * Failures keep the status and message. Bookings keep the vehicle and
+ * cleaners they were given, so allocation changes show up. Other bodies,
+ * availability in particular, are compared by checksum.
+ */
+public final class Outcomes {
+
+    private Outcomes() {
+    }
+
+    public static String of(int status, byte[] body, ObjectMapper mapper) {
+        if (body.length == 0) {
+            return Integer.toString(status);
+        }
+
+        JsonNode json = parse(body, mapper);
+
+        if (json != null && status >= 400 && json.hasNonNull("message")) {
+            return status + " " + json.get("message").asText();
+        }
+        if (json != null && json.hasNonNull("vehicleId") && json.has("cleaners")) {
+            return status + " vehicle=" + json.get("vehicleId").asText() + " cleaners="
+                    + StreamSupport.stream(json.get("cleaners").spliterator(), false)
+                    .map(cleaner -> cleaner.get("id").asText())
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return status + " crc32=" + Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * @return the id of the booking a {@code POST /bookings} made, or null
+     */
+    public static Long createdId(String method, String path, int status, byte[] body, ObjectMapper mapper) {
+        if (!"POST".equals(method) || !"/bookings".equals(path) || status != 201) {
+            return null;
+        }
+
+        JsonNode json = parse(body, mapper);
+        return json != null && json.hasNonNull("bookingId") ? json.get("bookingId").asLong() : null;
+    }
+
+    /**
+     * @return the id of the booking each item of a {@code POST /bookings/batch}
+     *         made, null where it failed, or null for any other request
+     */
+    public static List<Long> batchIds(String method, String path, int status, byte[] body, ObjectMapper mapper) {
+        if (!"POST".equals(method) || !"/bookings/batch".equals(path) || status != 200) {
+            return null;
+        }
+
+        JsonNode json = parse(body, mapper);
+        if (json == null || !json.has("results")) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode result : json.get("results")) {
+            JsonNode booking = result.get("booking");
+            ids.add(booking != null && booking.hasNonNull("bookingId") ? booking.get("bookingId").asLong() : null);
+        }
+        return ids;
+    }
+
+    private static JsonNode parse(byte[] body, ObjectMapper mapper) {
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.justlife.booking.capture;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of {@link TrafficRecord}s, each framed by its length.
+ * <p>
+ * Every record goes out in a single write, so a crash loses at most the
+ * record being written; {@link #read} stops at such a truncated tail.
+ */
+public final class TrafficLog implements Closeable {
+
+    private final FileChannel channel;
+    // Not a monitor: a virtual thread blocked in write would pin its carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private TrafficLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static TrafficLog open(Path file) {
+        try {
+            return new TrafficLog(FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+            ));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open traffic capture " + file, e);
+        }
+    }
+
+    public void append(TrafficRecord record) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+
+        try {
+            record.write(new DataOutputStream(payload));
+
+            ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + payload.size());
+            frame.putInt(payload.size()).put(payload.toByteArray()).flip();
+
+            lock.lock();
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the records of a capture in the order they were appended.
+     *
+     * @return the number of records read
+     */
+    public static long read(Path file, Consumer<TrafficRecord> consumer) {
+        long read = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte[] payload;
+                try {
+                    payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return read;
+                }
+
+                consumer.accept(TrafficRecord.read(new DataInputStream(new ByteArrayInputStream(payload))));
+                read++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read traffic capture " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,145 @@
+package com.justlife.booking.capture;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One captured API request and what it returned.
+ *
+ * @param receivedAt   wall-clock arrival
+ * @param now          {@code TimeProvider.now()} as the request began
+ * @param pattern      matched handler pattern, e.g. {@code /bookings/{bookingId}}
+ * @param query        raw query string, or null
+ * @param body         request body, or null
+ * @param truncated    whether the body was cut short at the capture limit
+ * @param latencyNanos time spent in the filter chain
+ * @param createdId    id of the booking a single create made, or null
+ * @param batchIds     ids of the bookings a batch made, one per requested
+ *                     booking with null where it failed; null for other requests
+ * @param outcome      see {@link Outcomes}, or null for streamed responses
+ */
+public record TrafficRecord(
+        Instant receivedAt,
+        Instant now,
+        String method,
+        String path,
+        String pattern,
+        String query,
+        String body,
+        boolean truncated,
+        int status,
+        long latencyNanos,
+        Long createdId,
+        String outcome,
+        List<Long> batchIds
+) {
+
+    public String endpoint() {
+        return method + " " + (pattern != null ? pattern : path);
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeLong(receivedAt.getEpochSecond());
+        out.writeInt(receivedAt.getNano());
+        out.writeLong(now.getEpochSecond());
+        out.writeInt(now.getNano());
+        out.writeUTF(method);
+        out.writeUTF(path);
+        writeNullable(out, pattern);
+        writeNullable(out, query);
+        writeNullable(out, body);
+        out.writeShort(status);
+        out.writeLong(latencyNanos);
+        out.writeLong(createdId != null ? createdId : -1);
+        writeNullable(out, outcome);
+        out.writeBoolean(truncated);
+        writeIds(out, batchIds);
+    }
+
+    static TrafficRecord read(DataInput in) throws IOException {
+        Instant receivedAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        Instant now = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        String method = in.readUTF();
+        String path = in.readUTF();
+        String pattern = readNullable(in);
+        String query = readNullable(in);
+        String body = readNullable(in);
+        int status = in.readShort();
+        long latencyNanos = in.readLong();
+        long createdId = in.readLong();
+        String outcome = readNullable(in);
+        // Absent from records captured before bodies were marked truncated
+        // and batch ids were kept.
+        boolean truncated = readOptionalBoolean(in);
+        List<Long> batchIds = readOptionalIds(in);
+
+        return new TrafficRecord(
+                receivedAt, now, method, path, pattern, query, body, truncated,
+                status, latencyNanos, createdId >= 0 ? createdId : null, outcome, batchIds
+        );
+    }
+
+    // Bodies can exceed writeUTF's 64 KB limit, so strings are length-prefixed bytes.
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeIds(DataOutput out, List<Long> ids) throws IOException {
+        if (ids == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(ids.size());
+        for (Long id : ids) {
+            out.writeLong(id != null ? id : -1);
+        }
+    }
+
+    private static List<Long> readOptionalIds(DataInput in) throws IOException {
+        int size;
+        try {
+            size = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (size < 0) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = in.readLong();
+            ids.add(id >= 0 ? id : null);
+        }
+        return ids;
+    }
+
+    private static boolean readOptionalBoolean(DataInput in) throws IOException {
+        try {
+            return in.readBoolean();
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
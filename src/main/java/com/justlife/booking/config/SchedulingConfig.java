@@ -1,8 +1,10 @@
 package com.justlife.booking.config;
 
+import com.justlife.booking.allocation.AllocationStrategyType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.ZoneId;
 
@@ -12,7 +14,10 @@ public record SchedulingConfig(
         WorkingHours workingHours,
         int breakMinutes,
         DayOfWeek nonWorkingDay,
-        Defaults defaults
+        Defaults defaults,
+        Occupancy occupancy,
+        Allocation allocation,
+        Availability availability
 ) {
 
     public boolean isWorkingDay(DayOfWeek day) {
@@ -22,4 +27,15 @@ public record SchedulingConfig(
     public record WorkingHours(LocalTime start, LocalTime end) {}
 
     public record Defaults(int maxCleanerPerVehicle) {}
-}
\ No newline at end of file
+
+    public record Occupancy(int slotMinutes, int cachedDays) {}
+
+    public record Allocation(
+            int lockStripes,
+            boolean vehicleLocks,
+            AllocationStrategyType strategy,
+            Duration alternativesBudget
+    ) {}
+
+    public record Availability(int cacheSize, Duration coalesceTimeout) {}
+}
@@ -0,0 +1,95 @@
+package com.justlife.booking.controller;
+
+import com.justlife.booking.availability.DailyAvailabilityCache;
+import com.justlife.booking.availability.SingleFlight;
+import com.justlife.booking.dto.AvailabilityStatsDto;
+import com.justlife.booking.dto.RosterCacheStatsDto;
+import com.justlife.booking.roster.Roster;
+import com.justlife.booking.roster.RosterCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operational APIs")
+public class AdminController {
+
+    private final RosterCache rosterCache;
+    private final DailyAvailabilityCache dailyAvailabilityCache;
+    private final SingleFlight singleFlight;
+
+    @Operation(
+            summary = "Get roster cache statistics",
+            description = "Returns the size of the cached roster and its hit and miss counts"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Roster cache statistics",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = RosterCacheStatsDto.class)
+            )
+    )
+    @GetMapping("/roster")
+    public RosterCacheStatsDto getRosterStats() {
+        return stats(rosterCache.cached().orElse(null));
+    }
+
+    @Operation(
+            summary = "Refresh the roster cache",
+            description = "Reloads the cleaner roster, for cleaner or vehicle changes made directly in the database"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Roster reloaded",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = RosterCacheStatsDto.class)
+            )
+    )
+    @PostMapping("/roster/refresh")
+    public RosterCacheStatsDto refreshRoster() {
+        return stats(rosterCache.refresh());
+    }
+
+    @Operation(
+            summary = "Get availability statistics",
+            description = "Returns how many availability requests were served from the cache or shared an in-flight computation"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Availability statistics",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = AvailabilityStatsDto.class)
+            )
+    )
+    @GetMapping("/availability")
+    public AvailabilityStatsDto getAvailabilityStats() {
+        return new AvailabilityStatsDto(
+                dailyAvailabilityCache.hits(),
+                dailyAvailabilityCache.misses(),
+                singleFlight.executed(),
+                singleFlight.coalesced(),
+                singleFlight.timedOut()
+        );
+    }
+
+    private RosterCacheStatsDto stats(Roster roster) {
+        return new RosterCacheStatsDto(
+                roster != null ? roster.vehicleCount() : null,
+                roster != null ? roster.cleanerCount() : null,
+                rosterCache.hits(),
+                rosterCache.misses()
+        );
+    }
+}
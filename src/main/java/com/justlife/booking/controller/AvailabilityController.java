@@ -1,6 +1,13 @@
 package com.justlife.booking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.booking.availability.DailyAvailability;
+import com.justlife.booking.dto.AvailabilityHeatmapDto;
+import com.justlife.booking.dto.DatedVehicleAvailabilityDto;
 import com.justlife.booking.dto.ErrorResponseDto;
+import com.justlife.booking.dto.SlotOptionDto;
 import com.justlife.booking.dto.VehicleAvailabilityDto;
 import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
 import com.justlife.booking.service.AvailabilityService;
@@ -13,12 +20,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -31,7 +45,10 @@ import java.util.List;
 )
 public class AvailabilityController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final AvailabilityService availabilityService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Get daily availability",
@@ -40,6 +57,9 @@ public class AvailabilityController {
                     grouped by vehicle, including free time slots for each cleaner.
                     
                     Only future or current working days are allowed.
+                    
+                    Responses carry an ETag; sending it back in If-None-Match
+                    returns 304 while the availability is unchanged.
                     """
     )
     @ApiResponses({
@@ -47,6 +67,10 @@ public class AvailabilityController {
                     responseCode = "200",
                     description = "Availability successfully retrieved"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Availability unchanged since the given ETag"
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid date or non-working day",
@@ -54,7 +78,7 @@ public class AvailabilityController {
             )
     })
     @GetMapping("/date")
-    public List<VehicleDailyAvailabilityDto> getDailyAvailabilityByVehicle(
+    public ResponseEntity<List<VehicleDailyAvailabilityDto>> getDailyAvailabilityByVehicle(
             @Parameter(
                     description = "Date for which availability is requested",
                     example = "2026-01-20",
@@ -62,9 +86,19 @@ public class AvailabilityController {
             )
             @RequestParam("date")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            LocalDate date
+            LocalDate date,
+
+            WebRequest request
     ) {
-        return availabilityService.getDailyAvailabilityByVehicle(date);
+        if (request.checkNotModified(availabilityService.getDailyAvailabilityTag(date))) {
+            return null;
+        }
+
+        DailyAvailability availability = availabilityService.getDailyAvailability(date);
+
+        return ResponseEntity.ok()
+                .eTag(availability.etag())
+                .body(availability.vehicles());
     }
 
     @Operation(
@@ -122,4 +156,191 @@ public class AvailabilityController {
                 durationMinutes
         );
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Find the next available slots",
+            description = """
+                    Returns the earliest start times, from the given moment
+                    onwards, at which a booking with the requested number of
+                    cleaners and duration can be made, with the vehicle it
+                    would be allocated. Non-working days are skipped and the
+                    search covers the next four weeks.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Options found, earliest first (empty if none within the horizon)"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input (past start, invalid duration, cleaner count or limit)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/next")
+    public List<SlotOptionDto> findNextAvailable(
+            @Parameter(
+                    description = "Number of cleaners required",
+                    example = "2",
+                    required = true
+            )
+            @RequestParam("cleanerCount")
+            int cleanerCount,
+
+            @Parameter(
+                    description = "Booking duration in minutes",
+                    example = "120",
+                    required = true
+            )
+            @RequestParam("durationMinutes")
+            int durationMinutes,
+
+            @Parameter(
+                    description = "Earliest acceptable start, defaults to now",
+                    example = "2026-01-20T10:00"
+            )
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+
+            @Parameter(
+                    description = "Maximum number of options to return",
+                    example = "5"
+            )
+            @RequestParam(value = "limit", defaultValue = "5")
+            int limit
+    ) {
+        return availabilityService.findNextAvailable(
+                cleanerCount,
+                durationMinutes,
+                from,
+                limit
+        );
+    }
+
+    @Operation(
+            summary = "Stream availability for a range of days",
+            description = """
+                    Streams cleaner availability for every working day in the
+                    range as newline-delimited JSON, one line per day and
+                    vehicle, in date order. Vehicles without free cleaners on a
+                    day are left out. Ranges of up to 90 days are allowed.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Availability stream",
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = DatedVehicleAvailabilityDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid range",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/range")
+    public ResponseEntity<StreamingResponseBody> streamAvailabilityRange(
+            @Parameter(
+                    description = "First day of the range",
+                    example = "2026-01-20",
+                    required = true
+            )
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+
+            @Parameter(
+                    description = "Last day of the range, inclusive",
+                    example = "2026-02-18",
+                    required = true
+            )
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to
+    ) {
+        availabilityService.validateRangeRequest(from, to);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+                // Flushed as each day starts, so finished days reach the
+                // client while later ones are still being computed.
+                LocalDate[] day = new LocalDate[1];
+
+                availabilityService.streamAvailabilityRange(from, to, line -> {
+                    try {
+                        if (day[0] != null && !day[0].equals(line.date())) {
+                            generator.flush();
+                        }
+                        day[0] = line.date();
+
+                        generator.writeObject(line);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Get the availability heatmap",
+            description = """
+                    Returns, for every working day in the range and every
+                    vehicle, how many cleaners are free for the whole of each
+                    bucket of the working day, keeping the break around their
+                    bookings. Ranges of up to 31 days are allowed.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Heatmap successfully computed"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid range or bucket size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/heatmap")
+    public AvailabilityHeatmapDto getHeatmap(
+            @Parameter(
+                    description = "First day of the range",
+                    example = "2026-01-20",
+                    required = true
+            )
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+
+            @Parameter(
+                    description = "Last day of the range, inclusive",
+                    example = "2026-01-26",
+                    required = true
+            )
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+
+            @Parameter(
+                    description = "Bucket length in minutes, a multiple of the slot size",
+                    example = "30"
+            )
+            @RequestParam(value = "bucketMinutes", defaultValue = "30")
+            int bucketMinutes
+    ) {
+        return availabilityService.getHeatmap(from, to, bucketMinutes);
+    }
+}
@@ -1,5 +1,7 @@
 package com.justlife.booking.controller;
 
+import com.justlife.booking.dto.BatchBookingRequestDto;
+import com.justlife.booking.dto.BatchBookingResponseDto;
 import com.justlife.booking.dto.BookingRequestDto;
 import com.justlife.booking.dto.BookingRescheduleRequestDto;
 import com.justlife.booking.dto.BookingResponseDto;
@@ -45,7 +47,7 @@ public class BookingController {
             ),
             @ApiResponse(
                     responseCode = "409",
-                    description = "Conflict (booking overlaps or cannot be scheduled)",
+                    description = "Conflict (booking overlaps or cannot be scheduled), with nearby alternatives when cleaners are short",
                     content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
             )
     })
@@ -62,6 +64,42 @@ public class BookingController {
         return bookingService.createBooking(request);
     }
 
+    @Operation(
+            summary = "Create bookings in bulk",
+            description = "Allocates and creates several bookings in one pass, reporting the outcome of each"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see the per-booking results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchBookingResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or oversized batch",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Cleaners were booked concurrently",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/batch")
+    public BatchBookingResponseDto createBookings(
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Batch booking request",
+                    required = true
+            )
+            BatchBookingRequestDto request
+    ) {
+        return bookingService.createBookings(request);
+    }
+
     @Operation(
             summary = "Cancel a booking",
             description = "Cancels a booking if it has not started yet"
@@ -0,0 +1,19 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Schema(description = "Free cleaner counts per vehicle in fixed time buckets")
+public record AvailabilityHeatmapDto(
+
+        @Schema(description = "Start of the first bucket of each day", example = "08:00")
+        LocalTime dayStart,
+
+        @Schema(description = "Length of each bucket in minutes", example = "30")
+        int bucketMinutes,
+
+        @Schema(description = "Working days of the range, in date order")
+        List<HeatmapDayDto> days
+) {}
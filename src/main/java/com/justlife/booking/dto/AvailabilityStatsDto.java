@@ -0,0 +1,21 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Counters of the availability caching and coalescing layers")
+public record AvailabilityStatsDto(
+        @Schema(description = "Daily availability served from the cache", example = "5400")
+        long dailyCacheHits,
+
+        @Schema(description = "Daily availability that had to be computed", example = "120")
+        long dailyCacheMisses,
+
+        @Schema(description = "Computations actually run", example = "300")
+        long executed,
+
+        @Schema(description = "Requests that shared a computation already in flight", example = "2100")
+        long coalesced,
+
+        @Schema(description = "Coalesced requests that stopped waiting and computed on their own", example = "0")
+        long timedOut
+) {}
@@ -0,0 +1,17 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Request payload for creating several bookings at once")
+public record BatchBookingRequestDto(
+        @Schema(description = "Bookings to create")
+        List<BookingRequestDto> bookings,
+
+        @Schema(
+                description = "Allocation order, defaults to SUBMISSION",
+                example = "SUBMISSION"
+        )
+        BatchOrder order
+) {}
@@ -0,0 +1,17 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Batch booking response")
+public record BatchBookingResponseDto(
+        @Schema(example = "98")
+        int created,
+
+        @Schema(example = "2")
+        int failed,
+
+        @Schema(description = "One result per requested booking, in request order")
+        List<BatchBookingResultDto> results
+) {}
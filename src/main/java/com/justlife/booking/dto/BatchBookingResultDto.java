@@ -0,0 +1,21 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single booking in a batch")
+public record BatchBookingResultDto(
+        @Schema(description = "Position of the booking in the request", example = "0")
+        int index,
+
+        @Schema(description = "HTTP status the booking would have had on its own", example = "201")
+        int status,
+
+        @Schema(description = "The created booking, if it was created")
+        BookingResponseDto booking,
+
+        @Schema(
+                description = "Why the booking was not created",
+                example = "Not enough cleaners available for the requested time"
+        )
+        String message
+) {}
@@ -0,0 +1,13 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Order in which the bookings of a batch are allocated")
+public enum BatchOrder {
+
+    @Schema(description = "Allocate in the order the bookings were submitted")
+    SUBMISSION,
+
+    @Schema(description = "Allocate the bookings needing the most cleaners, then the longest, first")
+    LARGEST_FIRST
+}
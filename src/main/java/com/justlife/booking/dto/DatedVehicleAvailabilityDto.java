@@ -0,0 +1,22 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "One vehicle's availability on one day of a range")
+public record DatedVehicleAvailabilityDto(
+
+        @Schema(example = "2026-01-20")
+        LocalDate date,
+
+        @Schema(example = "1")
+        Long vehicleId,
+
+        @Schema(example = "Vehicle-1")
+        String vehicleName,
+
+        @Schema(description = "Cleaners and their availability on the day")
+        List<CleanerDailyAvailabilityDto> cleaners
+) {}
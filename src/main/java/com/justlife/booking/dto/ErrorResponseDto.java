@@ -3,6 +3,7 @@ package com.justlife.booking.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @Schema(description = "Standard error response")
@@ -41,5 +42,10 @@ public record ErrorResponseDto(
                 }
                 """
         )
-        Map<String, String> fieldErrors
+        Map<String, String> fieldErrors,
+
+        @Schema(
+                description = "Nearest start times that would fit (only for capacity conflicts)"
+        )
+        List<SlotOptionDto> alternatives
 ) {}
\ No newline at end of file
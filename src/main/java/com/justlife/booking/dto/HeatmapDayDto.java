@@ -0,0 +1,16 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Free cleaner counts of every vehicle on one day")
+public record HeatmapDayDto(
+
+        @Schema(example = "2026-01-20")
+        LocalDate date,
+
+        @Schema(description = "Vehicles in roster order")
+        List<VehicleHeatmapDto> vehicles
+) {}
@@ -0,0 +1,18 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of the cached cleaner roster")
+public record RosterCacheStatsDto(
+        @Schema(description = "Vehicles in the cached roster, absent when nothing is cached", example = "5")
+        Integer vehicles,
+
+        @Schema(description = "Cleaners in the cached roster, absent when nothing is cached", example = "25")
+        Integer cleaners,
+
+        @Schema(description = "Lookups served from the cache", example = "1200")
+        long hits,
+
+        @Schema(description = "Lookups that loaded the roster from the database", example = "3")
+        long misses
+) {}
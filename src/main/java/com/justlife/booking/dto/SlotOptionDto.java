@@ -0,0 +1,24 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Schema(description = "A start time at which a booking can be made, and the vehicle it would get")
+public record SlotOptionDto(
+        @Schema(example = "2026-01-20")
+        LocalDate date,
+
+        @Schema(example = "10:00")
+        LocalTime startTime,
+
+        @Schema(example = "12:00")
+        LocalTime endTime,
+
+        @Schema(example = "1")
+        Long vehicleId,
+
+        @Schema(example = "Vehicle-1")
+        String vehicleName
+) {}
@@ -0,0 +1,19 @@
+package com.justlife.booking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Free cleaner counts of one vehicle, one entry per bucket")
+public record VehicleHeatmapDto(
+
+        @Schema(example = "1")
+        Long vehicleId,
+
+        @Schema(example = "Vehicle-1")
+        String vehicleName,
+
+        @Schema(
+                description = "Cleaners free for the whole of each bucket, breaks included",
+                example = "[5, 5, 3, 2, 5]"
+        )
+        int[] freeCleaners
+) {}
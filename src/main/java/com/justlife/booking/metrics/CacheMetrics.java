@@ -0,0 +1,52 @@
+package com.justlife.booking.metrics;
+
+import com.justlife.booking.availability.DailyAvailabilityCache;
+import com.justlife.booking.availability.SingleFlight;
+import com.justlife.booking.roster.RosterCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters the caches and the request coalescer already keep.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics implements MeterBinder {
+
+    private final RosterCache rosterCache;
+    private final DailyAvailabilityCache dailyAvailabilityCache;
+    private final SingleFlight singleFlight;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "roster.cache", "hit", rosterCache, RosterCache::hits);
+        counter(registry, "roster.cache", "miss", rosterCache, RosterCache::misses);
+        counter(registry, "availability.daily.cache", "hit",
+                dailyAvailabilityCache, DailyAvailabilityCache::hits);
+        counter(registry, "availability.daily.cache", "miss",
+                dailyAvailabilityCache, DailyAvailabilityCache::misses);
+        counter(registry, "availability.singleflight", "executed",
+                singleFlight, SingleFlight::executed);
+        counter(registry, "availability.singleflight", "coalesced",
+                singleFlight, SingleFlight::coalesced);
+        counter(registry, "availability.singleflight", "timed_out",
+                singleFlight, SingleFlight::timedOut);
+    }
+
+    private static <T> void counter(
+            MeterRegistry registry,
+            String name,
+            String result,
+            T source,
+            ToDoubleFunction<T> count
+    ) {
+        FunctionCounter.builder(name, source, count)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.justlife.booking.metrics;
+
+/**
+ * Cleaners checked while serving one request, and how many of them were busy.
+ * Not thread-safe; each request keeps its own.
+ */
+public final class ScanCounts {
+
+    private int cleaners;
+    private int conflicts;
+
+    public boolean checked(boolean free) {
+        cleaners++;
+
+        if (!free) {
+            conflicts++;
+        }
+
+        return free;
+    }
+
+    public int cleaners() {
+        return cleaners;
+    }
+
+    public int conflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,104 @@
+package com.justlife.booking.metrics;
+
+import com.justlife.booking.service.NoCapacityException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers and distribution summaries of the booking and availability services.
+ * <p>
+ * Every request is timed as a whole under {@code <area>.requests}, tagged with
+ * the operation and its outcome, and each of its phases under
+ * {@code <area>.phase}. Request timers publish percentile histograms, so
+ * latency objectives can be evaluated from the exported buckets.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    public static final String BOOKING = "booking";
+    public static final String AVAILABILITY = "availability";
+
+    private final MeterRegistry registry;
+
+    public <T> T request(String area, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(area + ".requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void request(String area, String operation, Runnable call) {
+        request(area, operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public <T> T phase(String area, String operation, String phase, Supplier<T> step) {
+        Timer.Sample sample = Timer.start(registry);
+
+        try {
+            return step.get();
+        } finally {
+            sample.stop(Timer.builder(area + ".phase")
+                    .tag("operation", operation)
+                    .tag("phase", phase)
+                    .register(registry));
+        }
+    }
+
+    public void phase(String area, String operation, String phase, Runnable step) {
+        phase(area, operation, phase, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records how many cleaners a request checked and how many of them were busy.
+     */
+    public void considered(String area, String operation, ScanCounts counts) {
+        summary(area + ".cleaners.considered", operation).record(counts.cleaners());
+        summary(area + ".conflicts.considered", operation).record(counts.conflicts());
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof NoCapacityException) {
+            return "no_capacity";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "validation_error";
+        }
+        if (e instanceof EntityNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof IllegalStateException) {
+            return "conflict";
+        }
+        return "error";
+    }
+
+    private DistributionSummary summary(String name, String operation) {
+        return DistributionSummary.builder(name)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.justlife.booking.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reports the SQL statements each request ran, in the
+ * {@value #HEADER} response header and in the {@code http.sql.statements}
+ * summary, tagged with the endpoint.
+ * <p>
+ * The header is set just before the body is first written, so it covers
+ * everything the handler did. A streamed body is produced on another thread
+ * after that point; its statements are not included.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statements";
+
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+        long start = SqlStatementCounter.current();
+        CountingResponse counting = new CountingResponse(response, start);
+
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            counting.report();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            DistributionSummary.builder("http.sql.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(SqlStatementCounter.current() - start);
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final long start;
+        private final Thread thread = Thread.currentThread();
+        private boolean reported;
+
+        CountingResponse(HttpServletResponse response, long start) {
+            super(response);
+            this.start = start;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            report();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            report();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            report();
+            super.flushBuffer();
+        }
+
+        // Counts are per thread, so only the request thread can report them.
+        void report() {
+            if (!reported && thread == Thread.currentThread() && !isCommitted()) {
+                setHeader(HEADER, Long.toString(SqlStatementCounter.current() - start));
+            }
+            reported = true;
+        }
+    }
+}
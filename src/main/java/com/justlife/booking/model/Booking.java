@@ -20,7 +20,8 @@ import java.util.Set;
 public class Booking extends BaseModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Setter
@@ -67,9 +68,10 @@ public class Booking extends BaseModel {
         validateTimeRange();
     }
 
-    public void assignCleaner(Cleaner cleaner) {
+    public BookingCleaner assignCleaner(Cleaner cleaner) {
         BookingCleaner assignment = new BookingCleaner(this, cleaner);
         cleaners.add(assignment);
+        return assignment;
     }
 
     public int getCleanerCount() {
@@ -1,10 +1,13 @@
 package com.justlife.booking.model;
 
+import com.justlife.booking.occupancy.OccupancyListener;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 @Entity
@@ -14,12 +17,14 @@ import java.util.Objects;
                 @UniqueConstraint(columnNames = {"booking_id", "cleaner_id"})
         }
 )
+@EntityListeners(OccupancyListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class BookingCleaner {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_cleaners_seq")
+    @SequenceGenerator(name = "booking_cleaners_seq", sequenceName = "booking_cleaners_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -30,11 +35,28 @@ public class BookingCleaner {
     @JoinColumn(name = "cleaner_id", nullable = false)
     private Cleaner cleaner;
 
+    @OneToMany(
+            mappedBy = "assignment",
+            cascade = CascadeType.ALL,
+            orphanRemoval = true
+    )
+    private final List<BookingCleanerSlot> slots = new ArrayList<>();
+
     public BookingCleaner(Booking booking, Cleaner cleaner) {
         this.booking = Objects.requireNonNull(booking);
         this.cleaner = Objects.requireNonNull(cleaner);
     }
 
+    /**
+     * Claims the slots {@code [firstSlot, endSlot)} of the booking date for the
+     * cleaner; the unique key on the claims rejects overlapping assignments.
+     */
+    public void claim(int firstSlot, int endSlot) {
+        for (int slot = firstSlot; slot < endSlot; slot++) {
+            slots.add(new BookingCleanerSlot(this, slot));
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,52 @@
+package com.justlife.booking.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(
+        name = "booking_cleaner_slots",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = BookingCleanerSlot.CLAIM_CONSTRAINT,
+                        columnNames = {"cleaner_id", "date", "slot_index"}
+                )
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BookingCleanerSlot {
+
+    public static final String CLAIM_CONSTRAINT = "uk_booking_cleaner_slots_claim";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_cleaner_slots_seq")
+    @SequenceGenerator(name = "booking_cleaner_slots_seq", sequenceName = "booking_cleaner_slots_seq", allocationSize = 500)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "booking_cleaner_id", nullable = false)
+    private BookingCleaner assignment;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "cleaner_id", nullable = false)
+    private Cleaner cleaner;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "slot_index", nullable = false)
+    private int slotIndex;
+
+    BookingCleanerSlot(BookingCleaner assignment, int slotIndex) {
+        this.assignment = Objects.requireNonNull(assignment);
+        this.cleaner = assignment.getCleaner();
+        this.date = assignment.getBooking().getDate();
+        this.slotIndex = slotIndex;
+    }
+}
@@ -1,5 +1,6 @@
 package com.justlife.booking.model;
 
+import com.justlife.booking.roster.RosterListener;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -11,12 +12,14 @@ import java.util.Set;
 
 @Entity
 @Table(name = "cleaners")
+@EntityListeners(RosterListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Cleaner extends BaseModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cleaners_seq")
+    @SequenceGenerator(name = "cleaners_seq", sequenceName = "cleaners_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
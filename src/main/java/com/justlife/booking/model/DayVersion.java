@@ -0,0 +1,29 @@
+package com.justlife.booking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Number of booking changes made on a date, shared by every node.
+ */
+@Entity
+@Table(name = DayVersion.TABLE)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DayVersion {
+
+    public static final String TABLE = "booking_day_versions";
+
+    @Id
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -1,5 +1,6 @@
 package com.justlife.booking.model;
 
+import com.justlife.booking.roster.RosterListener;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -11,11 +12,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "vehicles")
+@EntityListeners(RosterListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Vehicle extends BaseModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicles_seq")
+    @SequenceGenerator(name = "vehicles_seq", sequenceName = "vehicles_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,60 @@
+package com.justlife.booking.occupancy;
+
+import java.util.Arrays;
+
+/**
+ * Counts, for every bucket, how many of the added masks have its bit set.
+ * <p>
+ * The counts are bit-sliced: plane {@code p} holds bit {@code p} of every
+ * bucket's count, so adding a mask is a ripple-carry addition done 64 buckets
+ * per word, and reading a count takes one bit from each plane.
+ */
+public final class BucketCounter {
+
+    private final int buckets;
+    private final long[][] planes;
+
+    public BucketCounter(int buckets, int maxCount) {
+        this.buckets = buckets;
+        this.planes = new long[32 - Integer.numberOfLeadingZeros(Math.max(maxCount, 1))]
+                [words(buckets)];
+    }
+
+    public static int words(int buckets) {
+        return (buckets + 63) >>> 6;
+    }
+
+    public void add(long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            long carry = mask[w];
+
+            for (int p = 0; p < planes.length && carry != 0; p++) {
+                long overflow = planes[p][w] & carry;
+                planes[p][w] ^= carry;
+                carry = overflow;
+            }
+        }
+    }
+
+    public int count(int bucket) {
+        int word = bucket >>> 6;
+        int bit = bucket & 63;
+        int count = 0;
+
+        for (int p = 0; p < planes.length; p++) {
+            count |= (int) ((planes[p][word] >>> bit) & 1L) << p;
+        }
+
+        return count;
+    }
+
+    public int buckets() {
+        return buckets;
+    }
+
+    public void clear() {
+        for (long[] plane : planes) {
+            Arrays.fill(plane, 0L);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.justlife.booking.occupancy;
+
+record BusyInterval(long bookingId, int firstSlot, int endSlot) {}
@@ -0,0 +1,323 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.roster.Roster;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of every cleaner on a single date, in slots of a {@link SlotGrid}.
+ * <p>
+ * Each cleaner has a bitmap with one bit per slot of the working day, set when
+ * any assignment claims the slot, so a clear range means the cleaner is free.
+ * The claimed intervals are kept next to it to answer while ignoring a booking
+ * that is being rescheduled. Per-vehicle counts of free cleaners are built
+ * on first use and follow every change to the bitmaps.
+ */
+public final class DayOccupancy {
+
+    private final LocalDate date;
+    private final SlotGrid grid;
+    private final int dayFirstSlot;
+    private final int dayEndSlot;
+    private final int words;
+
+    private final Map<Long, Row> rows = new HashMap<>();
+    private VehicleFreeCounts freeCounts;
+
+    DayOccupancy(LocalDate date, LocalTime dayStart, LocalTime dayEnd, SlotGrid grid) {
+        this.date = date;
+        this.grid = grid;
+        this.dayFirstSlot = grid.firstSlot(dayStart);
+        this.dayEndSlot = (dayEnd.toSecondOfDay() + grid.slotSeconds() - 1) / grid.slotSeconds();
+        this.words = (dayEndSlot - dayFirstSlot + 63) >>> 6;
+    }
+
+    public LocalDate date() {
+        return date;
+    }
+
+    public boolean isFree(long cleanerId, LocalTime start, LocalTime end) {
+        return isFree(cleanerId, start, end, null);
+    }
+
+    public synchronized boolean isFree(
+            long cleanerId,
+            LocalTime start,
+            LocalTime end,
+            Long excludedBookingId
+    ) {
+        Row row = rows.get(cleanerId);
+
+        if (row == null) {
+            return true;
+        }
+
+        int from = grid.firstSlot(start);
+        int to = grid.endSlot(end);
+
+        int first = Math.max(from, dayFirstSlot);
+        int last = Math.min(to, dayEndSlot);
+
+        if (first < last && !row.touches(first - dayFirstSlot, last - 1 - dayFirstSlot)) {
+            return true;
+        }
+
+        return row.isFree(from, to, excludedBookingId);
+    }
+
+    /**
+     * Tells whether, in every slot of {@code [start, end)}, the vehicle has
+     * at least {@code cleanerCount} free cleaners. This is necessary but not
+     * sufficient for a booking to fit, as different cleaners may be free in
+     * different slots, so a true answer must still be checked per cleaner.
+     */
+    public synchronized boolean mayFit(
+            Roster roster,
+            int vehicle,
+            LocalTime start,
+            LocalTime end,
+            int cleanerCount
+    ) {
+        int first = Math.max(grid.firstSlot(start), dayFirstSlot) - dayFirstSlot;
+        int last = Math.min(grid.endSlot(end), dayEndSlot) - dayFirstSlot;
+
+        if (first >= last) {
+            return true;
+        }
+
+        return freeCounts(roster).minFree(vehicle, first, last) >= cleanerCount;
+    }
+
+    /**
+     * Describes where a claim of {@code [start, end)} would sit in the
+     * cleaner's day, from the occupancy bitmap.
+     */
+    public synchronized SlotFit fit(long cleanerId, LocalTime start, LocalTime end) {
+        int length = dayEndSlot - dayFirstSlot;
+        int first = Math.max(grid.firstSlot(start), dayFirstSlot) - dayFirstSlot;
+        int last = Math.min(grid.endSlot(end), dayEndSlot) - dayFirstSlot;
+
+        Row row = rows.get(cleanerId);
+
+        if (row == null) {
+            return new SlotFit(first, length - last, last - first, 0);
+        }
+
+        return new SlotFit(
+                first - row.previousBusy(first) - 1,
+                row.nextBusy(last, length) - last,
+                last - first,
+                row.busySlots
+        );
+    }
+
+    /**
+     * Sets the bit of every bucket of {@code bucketSlots} slots, counted from
+     * the start of the working day, that a claim of the cleaner overlaps once
+     * it is extended {@code leadSlots} slots backwards.
+     *
+     * @return false, leaving {@code into} untouched, if the cleaner has no claims
+     */
+    public synchronized boolean busyBuckets(
+            long cleanerId,
+            int leadSlots,
+            int bucketSlots,
+            long[] into
+    ) {
+        Row row = rows.get(cleanerId);
+
+        if (row == null || row.intervals.isEmpty()) {
+            return false;
+        }
+
+        for (BusyInterval interval : row.intervals) {
+            int first = Math.max(interval.firstSlot() - leadSlots, dayFirstSlot) - dayFirstSlot;
+            int last = Math.min(interval.endSlot(), dayEndSlot) - dayFirstSlot;
+
+            if (first >= last) {
+                continue;
+            }
+
+            for (int bucket = first / bucketSlots; bucket <= (last - 1) / bucketSlots; bucket++) {
+                into[bucket >>> 6] |= 1L << (bucket & 63);
+            }
+        }
+
+        return true;
+    }
+
+    synchronized void put(long cleanerId, BusyInterval interval) {
+        Row row = rows.computeIfAbsent(cleanerId, id -> new Row(words));
+        long[] before = row.busy.clone();
+
+        row.put(interval);
+        changed(cleanerId, before, row.busy);
+    }
+
+    synchronized boolean remove(long cleanerId, long bookingId) {
+        Row row = rows.get(cleanerId);
+
+        if (row == null) {
+            return false;
+        }
+
+        long[] before = row.busy.clone();
+
+        if (!row.remove(bookingId)) {
+            return false;
+        }
+
+        changed(cleanerId, before, row.busy);
+        return true;
+    }
+
+    private void changed(long cleanerId, long[] before, long[] after) {
+        if (freeCounts != null) {
+            freeCounts.changed(cleanerId, before, after);
+        }
+    }
+
+    private VehicleFreeCounts freeCounts(Roster roster) {
+        if (freeCounts == null || !freeCounts.isFor(roster)) {
+            freeCounts = new VehicleFreeCounts(roster, dayEndSlot - dayFirstSlot);
+
+            long[] empty = new long[words];
+            rows.forEach((cleanerId, row) -> freeCounts.changed(cleanerId, empty, row.busy));
+        }
+
+        return freeCounts;
+    }
+
+    private final class Row {
+
+        private final long[] busy;
+        private final List<BusyInterval> intervals = new ArrayList<>();
+        private int busySlots;
+
+        Row(int words) {
+            this.busy = new long[words];
+        }
+
+        void put(BusyInterval interval) {
+            intervals.removeIf(i -> i.bookingId() == interval.bookingId());
+
+            int index = 0;
+            while (index < intervals.size()
+                    && intervals.get(index).firstSlot() <= interval.firstSlot()) {
+                index++;
+            }
+            intervals.add(index, interval);
+
+            render();
+        }
+
+        boolean remove(long bookingId) {
+            if (!intervals.removeIf(i -> i.bookingId() == bookingId)) {
+                return false;
+            }
+
+            render();
+            return true;
+        }
+
+        boolean touches(int firstSlot, int lastSlot) {
+            int firstWord = firstSlot >>> 6;
+            int lastWord = lastSlot >>> 6;
+
+            for (int w = firstWord; w <= lastWord; w++) {
+                long mask = -1L;
+
+                if (w == firstWord) {
+                    mask &= -1L << (firstSlot & 63);
+                }
+                if (w == lastWord) {
+                    mask &= -1L >>> (63 - (lastSlot & 63));
+                }
+
+                if ((busy[w] & mask) != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        // Highest claimed slot below the given one, or -1.
+        int previousBusy(int before) {
+            if (before <= 0) {
+                return -1;
+            }
+
+            int w = (before - 1) >>> 6;
+            long bits = busy[w] & (-1L >>> (63 - ((before - 1) & 63)));
+
+            while (bits == 0) {
+                if (--w < 0) {
+                    return -1;
+                }
+                bits = busy[w];
+            }
+
+            return (w << 6) + 63 - Long.numberOfLeadingZeros(bits);
+        }
+
+        // Lowest claimed slot at or above the given one, or the day length.
+        int nextBusy(int from, int length) {
+            if (from >= length) {
+                return length;
+            }
+
+            int w = from >>> 6;
+            long bits = busy[w] & (-1L << (from & 63));
+
+            while (bits == 0) {
+                if (++w == busy.length) {
+                    return length;
+                }
+                bits = busy[w];
+            }
+
+            return Math.min(length, (w << 6) + Long.numberOfTrailingZeros(bits));
+        }
+
+        boolean isFree(int from, int to, Long excludedBookingId) {
+            for (BusyInterval interval : intervals) {
+                if (interval.firstSlot() >= to) {
+                    break;
+                }
+
+                if (interval.endSlot() > from
+                        && (excludedBookingId == null
+                        || interval.bookingId() != excludedBookingId)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void render() {
+            Arrays.fill(busy, 0L);
+
+            for (BusyInterval interval : intervals) {
+                int first = Math.max(interval.firstSlot(), dayFirstSlot) - dayFirstSlot;
+                int last = Math.min(interval.endSlot(), dayEndSlot) - dayFirstSlot;
+
+                for (int slot = first; slot < last; slot++) {
+                    busy[slot >>> 6] |= 1L << (slot & 63);
+                }
+            }
+
+            busySlots = 0;
+            for (long word : busy) {
+                busySlots += Long.bitCount(word);
+            }
+        }
+    }
+}
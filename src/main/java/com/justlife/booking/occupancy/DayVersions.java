@@ -0,0 +1,66 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.model.DayVersion;
+import com.justlife.booking.repository.DayVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Per-date counter of booking changes, for caches of results derived from a
+ * date's bookings.
+ * <p>
+ * The counters are rows in the database, bumped by the transaction that
+ * changes the date's bookings, so a change made on any node is seen by every
+ * node once it commits. A version read before a result is computed is never
+ * newer than the result.
+ */
+@Component
+@RequiredArgsConstructor
+public class DayVersions {
+
+    private final DayVersionRepository dayVersionRepository;
+
+    public long version(LocalDate date) {
+        return dayVersionRepository.findById(date)
+                .map(DayVersion::getVersion)
+                .orElse(0L);
+    }
+
+    /**
+     * @return the version of each of {@code dates}, read with a single query
+     */
+    public Map<LocalDate, Long> versions(Collection<LocalDate> dates) {
+        Map<LocalDate, Long> versions = new LinkedHashMap<>();
+        dates.forEach(date -> versions.put(date, 0L));
+
+        dayVersionRepository.findAllById(versions.keySet())
+                .forEach(row -> versions.put(row.getDate(), row.getVersion()));
+
+        return versions;
+    }
+
+    public void changed(LocalDate date) {
+        changed(List.of(date));
+    }
+
+    /**
+     * Bumps the versions of the dates in the current transaction. The rows
+     * stay locked until it ends, so this is called once the bookings are
+     * written, and takes the dates in order so that writers cannot deadlock.
+     */
+    public void changed(Collection<LocalDate> dates) {
+        for (LocalDate date : new TreeSet<>(dates)) {
+            if (dayVersionRepository.increment(date) == 0
+                    && dayVersionRepository.insertFirst(date) == 0) {
+                dayVersionRepository.increment(date);
+            }
+        }
+    }
+}
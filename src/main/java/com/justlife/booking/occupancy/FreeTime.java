@@ -0,0 +1,156 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.model.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Merged free time inside a window, computed in a single sweep over busy
+ * intervals sorted by start time.
+ */
+public final class FreeTime {
+
+    private static final FreeTime NONE = new FreeTime(List.of());
+
+    private final List<TimeSlot> slots;
+
+    private FreeTime(List<TimeSlot> slots) {
+        this.slots = slots;
+    }
+
+    public static FreeTime none() {
+        return NONE;
+    }
+
+    public static FreeTime sweep(
+            LocalTime windowStart,
+            LocalTime windowEnd,
+            Iterable<TimeSlot> busySortedByStart
+    ) {
+        if (!windowStart.isBefore(windowEnd)) {
+            return NONE;
+        }
+
+        List<TimeSlot> free = new ArrayList<>();
+        LocalTime cursor = windowStart;
+
+        for (TimeSlot busy : busySortedByStart) {
+            if (busy.start().isAfter(cursor)) {
+                LocalTime gapEnd = busy.start().isBefore(windowEnd)
+                        ? busy.start()
+                        : windowEnd;
+
+                free.add(new TimeSlot(cursor, gapEnd));
+            }
+
+            if (busy.end().isAfter(cursor)) {
+                cursor = busy.end();
+            }
+
+            if (!cursor.isBefore(windowEnd)) {
+                return new FreeTime(free);
+            }
+        }
+
+        free.add(new TimeSlot(cursor, windowEnd));
+        return new FreeTime(free);
+    }
+
+    public static FreeTime intersectAll(Collection<FreeTime> cleaners) {
+        Iterator<FreeTime> it = cleaners.iterator();
+
+        if (!it.hasNext()) {
+            return NONE;
+        }
+
+        FreeTime result = it.next();
+        while (it.hasNext() && !result.isEmpty()) {
+            result = result.intersect(it.next());
+        }
+
+        return result;
+    }
+
+    public List<TimeSlot> slots() {
+        return slots;
+    }
+
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    public Optional<TimeSlot> largestGap() {
+        TimeSlot largest = null;
+
+        for (TimeSlot slot : slots) {
+            if (largest == null || length(slot).compareTo(length(largest)) > 0) {
+                largest = slot;
+            }
+        }
+
+        return Optional.ofNullable(largest);
+    }
+
+    public List<TimeSlot> gapsOfAtLeast(int minutes) {
+        Duration required = Duration.ofMinutes(minutes);
+
+        List<TimeSlot> result = new ArrayList<>();
+        for (TimeSlot slot : slots) {
+            if (length(slot).compareTo(required) >= 0) {
+                result.add(slot);
+            }
+        }
+
+        return result;
+    }
+
+    public boolean contains(LocalTime start, LocalTime end) {
+        for (TimeSlot slot : slots) {
+            if (slot.start().isAfter(start)) {
+                return false;
+            }
+            if (!slot.end().isBefore(end)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public FreeTime intersect(FreeTime other) {
+        List<TimeSlot> result = new ArrayList<>();
+
+        int i = 0;
+        int j = 0;
+
+        while (i < slots.size() && j < other.slots.size()) {
+            TimeSlot a = slots.get(i);
+            TimeSlot b = other.slots.get(j);
+
+            LocalTime start = a.start().isAfter(b.start()) ? a.start() : b.start();
+            LocalTime end = a.end().isBefore(b.end()) ? a.end() : b.end();
+
+            if (start.isBefore(end)) {
+                result.add(new TimeSlot(start, end));
+            }
+
+            if (a.end().isBefore(b.end())) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return new FreeTime(result);
+    }
+
+    private static Duration length(TimeSlot slot) {
+        return Duration.between(slot.start(), slot.end());
+    }
+}
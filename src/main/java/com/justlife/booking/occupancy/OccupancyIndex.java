@@ -0,0 +1,287 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.BookingCleaner;
+import com.justlife.booking.repository.BookingCleanerRepository;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.DatedAssignmentRow;
+import com.justlife.booking.time.TimeProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process index of cleaner occupancy, loaded lazily per date.
+ * <p>
+ * Assignment changes are applied as soon as they are flushed, applied again
+ * once the transaction commits, and the affected dates are evicted if it rolls
+ * back. A date whose load overlaps a write is served once but not cached.
+ * At most {@code app.occupancy.cached-days} dates are held, least recently
+ * used first out; an evicted date is loaded again when next asked for.
+ * <p>
+ * Other nodes change bookings without touching this index, so each date is
+ * held with the {@link DayVersions version} read before it was loaded. Reads
+ * pass the current version and a date held under an older one is loaded
+ * again. Writers take whatever is held: their slot claims are checked by the
+ * database, and a conflict evicts the date.
+ */
+@Component
+public class OccupancyIndex {
+
+    private final BookingCleanerRepository bookingCleanerRepository;
+    private final SchedulingConfig schedulingConfig;
+    private final TimeProvider timeProvider;
+
+    // Held by dates loaded for a writer, which any version accepts.
+    private static final long UNKNOWN = -1;
+
+    // Guarded by writeLock, as reads reorder an access-ordered map.
+    private final Map<LocalDate, Held> days;
+    private final Object writeLock = new Object();
+    private long modifications;
+
+    public OccupancyIndex(
+            BookingCleanerRepository bookingCleanerRepository,
+            SchedulingConfig schedulingConfig,
+            TimeProvider timeProvider
+    ) {
+        this.bookingCleanerRepository = bookingCleanerRepository;
+        this.schedulingConfig = schedulingConfig;
+        this.timeProvider = timeProvider;
+
+        int capacity = schedulingConfig.occupancy().cachedDays();
+
+        this.days = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, Held> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public DayOccupancy day(LocalDate date) {
+        return day(date, UNKNOWN);
+    }
+
+    /**
+     * Returns the occupancy of {@code date}, loading it again if it is held
+     * under a version older than {@code version}.
+     */
+    public DayOccupancy day(LocalDate date, long version) {
+        long seen;
+        synchronized (writeLock) {
+            Held held = days.get(date);
+
+            if (held != null && held.version() >= version) {
+                return held.day();
+            }
+
+            seen = modifications;
+        }
+
+        DayOccupancy loaded = load(date);
+
+        synchronized (writeLock) {
+            if (seen != modifications) {
+                return loaded;
+            }
+
+            LocalDate today = timeProvider.now().toLocalDate();
+            days.keySet().removeIf(d -> d.isBefore(today));
+
+            return keep(date, new Held(loaded, version));
+        }
+    }
+
+    /**
+     * Returns the occupancy of every date in {@code dates}, loading the dates
+     * that are not held with a single query.
+     */
+    public Map<LocalDate, DayOccupancy> days(Collection<LocalDate> dates) {
+        Map<LocalDate, Long> versions = new LinkedHashMap<>();
+        dates.forEach(date -> versions.put(date, UNKNOWN));
+
+        return days(versions);
+    }
+
+    /**
+     * Returns the occupancy of every date in {@code versions}, loading the
+     * dates that are not held under their version or a later one with a
+     * single query.
+     */
+    public Map<LocalDate, DayOccupancy> days(Map<LocalDate, Long> versions) {
+        Map<LocalDate, DayOccupancy> result = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+
+        long seen;
+        synchronized (writeLock) {
+            versions.forEach((date, version) -> {
+                Held held = days.get(date);
+                if (held != null && held.version() >= version) {
+                    result.put(date, held.day());
+                } else {
+                    missing.add(date);
+                }
+            });
+
+            seen = modifications;
+        }
+
+        if (missing.size() == 1) {
+            LocalDate date = missing.get(0);
+            result.put(date, day(date, versions.get(date)));
+            return result;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<LocalDate, DayOccupancy> loaded = new HashMap<>();
+        for (LocalDate date : missing) {
+            loaded.put(date, emptyDay(date));
+        }
+        for (DatedAssignmentRow row : bookingCleanerRepository.findAssignmentsOnDates(missing)) {
+            loaded.get(row.date()).put(
+                    row.cleanerId(),
+                    claimed(row.bookingId(), row.startTime(), row.endTime())
+            );
+        }
+
+        synchronized (writeLock) {
+            if (seen != modifications) {
+                result.putAll(loaded);
+                return result;
+            }
+
+            loaded.forEach((date, day) ->
+                    result.put(date, keep(date, new Held(day, versions.get(date))))
+            );
+            return result;
+        }
+    }
+
+    // Called holding writeLock. A date held under a later version, loaded by
+    // a concurrent read, is kept in place of this one.
+    private DayOccupancy keep(LocalDate date, Held loaded) {
+        Held held = days.get(date);
+
+        if (held != null && held.version() >= loaded.version()) {
+            return held.day();
+        }
+
+        days.put(date, loaded);
+        return loaded.day();
+    }
+
+    public void evict(LocalDate date) {
+        synchronized (writeLock) {
+            modifications++;
+            days.remove(date);
+        }
+    }
+
+    public void assigned(BookingCleaner assignment) {
+        Booking booking = assignment.getBooking();
+
+        LocalDate date = booking.getDate();
+        long cleanerId = assignment.getCleaner().getId();
+        BusyInterval interval = claimed(
+                booking.getId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+
+        Runnable change = () -> {
+            Held held = days.get(date);
+            if (held != null) {
+                held.day().put(cleanerId, interval);
+            }
+        };
+
+        apply(change);
+        onCompletion(change, List.of(date));
+    }
+
+    public void released(BookingCleaner assignment) {
+        long cleanerId = assignment.getCleaner().getId();
+        long bookingId = assignment.getBooking().getId();
+
+        List<LocalDate> affected = new ArrayList<>();
+
+        Runnable change = () -> days.values().forEach(held -> {
+            if (held.day().remove(cleanerId, bookingId)) {
+                affected.add(held.day().date());
+            }
+        });
+
+        apply(change);
+        onCompletion(change, affected);
+    }
+
+    private DayOccupancy load(LocalDate date) {
+        DayOccupancy day = emptyDay(date);
+
+        for (AssignmentRow row : bookingCleanerRepository.findAssignmentsOnDate(date)) {
+            day.put(
+                    row.cleanerId(),
+                    claimed(row.bookingId(), row.startTime(), row.endTime())
+            );
+        }
+
+        return day;
+    }
+
+    private DayOccupancy emptyDay(LocalDate date) {
+        return new DayOccupancy(
+                date,
+                schedulingConfig.workingHours().start(),
+                schedulingConfig.workingHours().end(),
+                SlotGrid.of(schedulingConfig)
+        );
+    }
+
+    private BusyInterval claimed(Long bookingId, LocalTime start, LocalTime end) {
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+
+        return new BusyInterval(bookingId, grid.firstSlot(start), grid.endSlot(end));
+    }
+
+    private void apply(Runnable change) {
+        synchronized (writeLock) {
+            modifications++;
+            change.run();
+        }
+    }
+
+    private void onCompletion(Runnable change, List<LocalDate> affected) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            apply(change);
+                        } else {
+                            List.copyOf(affected).forEach(OccupancyIndex.this::evict);
+                        }
+                    }
+                }
+        );
+    }
+
+    private record Held(DayOccupancy day, long version) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.model.BookingCleaner;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+@RequiredArgsConstructor
+public class OccupancyListener {
+
+    // Resolved lazily: the index depends on a repository, which needs the
+    // entity manager factory that instantiates this listener.
+    private final ObjectProvider<OccupancyIndex> occupancyIndex;
+
+    @PostPersist
+    void onAssigned(BookingCleaner assignment) {
+        occupancyIndex.getObject().assigned(assignment);
+    }
+
+    @PostRemove
+    void onReleased(BookingCleaner assignment) {
+        occupancyIndex.getObject().released(assignment);
+    }
+}
@@ -0,0 +1,8 @@
+package com.justlife.booking.occupancy;
+
+/**
+ * Where a claim would sit in a cleaner's working day, in slots: the free
+ * slots left directly before and after it, its own length, and the slots the
+ * cleaner already has claimed that day.
+ */
+public record SlotFit(int slackBefore, int slackAfter, int claimSlots, int busySlots) {}
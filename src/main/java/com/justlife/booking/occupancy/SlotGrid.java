@@ -0,0 +1,68 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.config.SchedulingConfig;
+
+import java.time.LocalTime;
+
+/**
+ * Fixed grid of slots counted from midnight, on which bookings claim cleaners.
+ * <p>
+ * A booking claims {@code [start, end + break)} rounded outwards to whole
+ * slots. Requests must start on the grid and last whole slots, and the break
+ * is a whole number of slots, so claims are exact: two bookings of one
+ * cleaner respect the break exactly when their claims do not overlap.
+ * Bookings made before that rule are rounded outwards, which only ever keeps
+ * them further apart.
+ */
+public record SlotGrid(int slotSeconds, int breakSeconds) {
+
+    public SlotGrid {
+        if (slotSeconds <= 0 || breakSeconds % slotSeconds != 0) {
+            throw new IllegalStateException("Break must be a whole number of occupancy slots");
+        }
+    }
+
+    public static SlotGrid of(SchedulingConfig schedulingConfig) {
+        return new SlotGrid(
+                schedulingConfig.occupancy().slotMinutes() * 60,
+                schedulingConfig.breakMinutes() * 60
+        );
+    }
+
+    public int slotMinutes() {
+        return slotSeconds / 60;
+    }
+
+    public int firstSlot(LocalTime start) {
+        return start.toSecondOfDay() / slotSeconds;
+    }
+
+    public int endSlot(LocalTime end) {
+        return (end.toSecondOfDay() + breakSeconds + slotSeconds - 1) / slotSeconds;
+    }
+
+    public boolean isAligned(LocalTime time) {
+        return time.toSecondOfDay() % slotSeconds == 0 && time.getNano() == 0;
+    }
+
+    public boolean isWholeSlots(int minutes) {
+        return minutes * 60 % slotSeconds == 0;
+    }
+
+    /**
+     * @return the time, moved back to the start of its slot
+     */
+    public LocalTime floor(LocalTime time) {
+        return LocalTime.ofSecondOfDay((long) firstSlot(time) * slotSeconds);
+    }
+
+    /**
+     * @return the time, moved forward to the next slot boundary; the end of
+     *         the day stays {@link LocalTime#MAX}
+     */
+    public LocalTime ceil(LocalTime time) {
+        long seconds = ((time.toSecondOfDay() + (time.getNano() > 0 ? 1L : 0L) + slotSeconds - 1)
+                / slotSeconds) * slotSeconds;
+        return seconds >= 24 * 3600 ? LocalTime.MAX : LocalTime.ofSecondOfDay(seconds);
+    }
+}
@@ -0,0 +1,126 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.roster.Roster;
+
+import java.util.Arrays;
+
+/**
+ * Number of free cleaners of every vehicle in every slot of one working day,
+ * kept in one segment tree per vehicle.
+ * <p>
+ * The trees support adding to a range of slots and taking the minimum over a
+ * range in logarithmic time. Additions are not pushed down: each node keeps
+ * the amount added to its whole range next to its minimum, and queries add
+ * them up on the way down. The counts are bound to the roster they were built
+ * from and follow the cleaners' occupancy bitmaps as they change.
+ */
+final class VehicleFreeCounts {
+
+    private static final int PADDING = Integer.MAX_VALUE / 2;
+
+    private final Roster roster;
+    private final int slots;
+    private final int size;
+    private final int[] min;
+    private final int[] added;
+
+    VehicleFreeCounts(Roster roster, int slots) {
+        this.roster = roster;
+        this.slots = slots;
+        this.size = Integer.highestOneBit(Math.max(slots - 1, 1)) << 1;
+        this.min = new int[roster.vehicleCount() * 2 * size];
+        this.added = new int[roster.vehicleCount() * 2 * size];
+
+        for (int vehicle = 0; vehicle < roster.vehicleCount(); vehicle++) {
+            int base = vehicle * 2 * size;
+            int cleaners = roster.endCleaner(vehicle) - roster.firstCleaner(vehicle);
+
+            Arrays.fill(min, base + size, base + size + slots, cleaners);
+            Arrays.fill(min, base + size + slots, base + 2 * size, PADDING);
+
+            for (int node = size - 1; node >= 1; node--) {
+                min[base + node] = Math.min(min[base + 2 * node], min[base + 2 * node + 1]);
+            }
+        }
+    }
+
+    boolean isFor(Roster roster) {
+        return this.roster == roster;
+    }
+
+    /**
+     * Applies the difference between a cleaner's old and new occupancy bitmap.
+     */
+    void changed(long cleanerId, long[] before, long[] after) {
+        int cleaner = roster.indexOfCleaner(cleanerId);
+
+        if (cleaner < 0) {
+            return;
+        }
+
+        int base = roster.vehicleOf(cleaner) * 2 * size;
+
+        for (int w = 0; w < after.length; w++) {
+            long old = w < before.length ? before[w] : 0L;
+
+            addRuns(base, w, after[w] & ~old, -1);
+            addRuns(base, w, old & ~after[w], 1);
+        }
+    }
+
+    /**
+     * @return the fewest free cleaners of the vehicle in any slot of
+     *         {@code [from, to)}, counted from the start of the working day
+     */
+    int minFree(int vehicle, int from, int to) {
+        return min(vehicle * 2 * size, 1, 0, size, Math.max(from, 0), Math.min(to, slots));
+    }
+
+    private void addRuns(int base, int word, long bits, int delta) {
+        while (bits != 0) {
+            int start = Long.numberOfTrailingZeros(bits);
+            int length = Long.numberOfTrailingZeros(~(bits >>> start));
+
+            int from = (word << 6) + start;
+            add(base, 1, 0, size, from, Math.min(from + length, slots), delta);
+
+            bits &= ~((length == 64 ? -1L : (1L << length) - 1) << start);
+        }
+    }
+
+    private void add(int base, int node, int lo, int hi, int from, int to, int delta) {
+        if (to <= lo || hi <= from) {
+            return;
+        }
+
+        if (from <= lo && hi <= to) {
+            min[base + node] += delta;
+            added[base + node] += delta;
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        add(base, 2 * node, lo, mid, from, to, delta);
+        add(base, 2 * node + 1, mid, hi, from, to, delta);
+
+        min[base + node] = added[base + node]
+                + Math.min(min[base + 2 * node], min[base + 2 * node + 1]);
+    }
+
+    private int min(int base, int node, int lo, int hi, int from, int to) {
+        if (to <= lo || hi <= from) {
+            return PADDING;
+        }
+
+        if (from <= lo && hi <= to) {
+            return min[base + node];
+        }
+
+        int mid = (lo + hi) >>> 1;
+
+        return added[base + node] + Math.min(
+                min(base, 2 * node, lo, mid, from, to),
+                min(base, 2 * node + 1, mid, hi, from, to)
+        );
+    }
+}
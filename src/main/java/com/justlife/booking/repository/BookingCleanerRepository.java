@@ -1,62 +1,71 @@
 package com.justlife.booking.repository;
 
 import com.justlife.booking.model.BookingCleaner;
-import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.DatedAssignmentRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingCleanerRepository extends JpaRepository<BookingCleaner, Long> {
 
     @Query("""
-        SELECT bc
+        SELECT new com.justlife.booking.repository.projection.AssignmentRow(
+            b.id, bc.cleaner.id, b.startTime, b.endTime
+        )
         FROM BookingCleaner bc
-        JOIN FETCH bc.booking b
-        WHERE bc.cleaner IN :cleaners
+        JOIN bc.booking b
+        JOIN bc.cleaner c
+        WHERE c.vehicle IS NOT NULL
           AND b.date = :date
         ORDER BY b.startTime
         """)
-    List<BookingCleaner> findAssignmentsForCleanersOnDate(
-            @Param("cleaners") Collection<Cleaner> cleaners,
-            @Param("date") LocalDate date
-    );
+    List<AssignmentRow> findRosterAssignmentsOnDate(@Param("date") LocalDate date);
 
     @Query("""
-        SELECT bc
+        SELECT new com.justlife.booking.repository.projection.AssignmentRow(
+            b.id, bc.cleaner.id, b.startTime, b.endTime
+        )
         FROM BookingCleaner bc
-        JOIN FETCH bc.booking b
-        WHERE bc.cleaner IN :cleaners
-          AND b.date = :date
-          AND (b.startTime < :endWithBuffer AND b.endTime > :startWithBuffer)
+        JOIN bc.booking b
+        WHERE b.date = :date
         """)
-    List<BookingCleaner> findConflictingAssignmentsForCleaners(
-            @Param("cleaners") Collection<Cleaner> cleaners,
-            @Param("date") LocalDate date,
-            @Param("startWithBuffer") LocalTime startWithBuffer,
-            @Param("endWithBuffer") LocalTime endWithBuffer
-    );
+    List<AssignmentRow> findAssignmentsOnDate(@Param("date") LocalDate date);
 
     @Query("""
-    SELECT bc
-    FROM BookingCleaner bc
-    JOIN FETCH bc.booking b
-    WHERE bc.cleaner IN :cleaners
-      AND b.id <> :bookingId
-      AND b.date = :date
-      AND (b.startTime < :endTime AND b.endTime > :startTime)
-""")
-    List<BookingCleaner> findConflictsExcludingBooking(
-            @Param("bookingId") Long bookingId,
-            @Param("cleaners") List<Cleaner> cleaners,
-            @Param("date") LocalDate date,
-            @Param("startTime") LocalTime startTime,
-            @Param("endTime") LocalTime endTime
+        SELECT new com.justlife.booking.repository.projection.DatedAssignmentRow(
+            b.date, b.id, bc.cleaner.id, b.startTime, b.endTime
+        )
+        FROM BookingCleaner bc
+        JOIN bc.booking b
+        WHERE b.date IN :dates
+        """)
+    List<DatedAssignmentRow> findAssignmentsOnDates(@Param("dates") Collection<LocalDate> dates);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new com.justlife.booking.repository.projection.DatedAssignmentRow(
+            b.date, b.id, bc.cleaner.id, b.startTime, b.endTime
+        )
+        FROM BookingCleaner bc
+        JOIN bc.booking b
+        JOIN bc.cleaner c
+        WHERE c.vehicle IS NOT NULL
+          AND b.date BETWEEN :from AND :to
+        ORDER BY b.date, b.startTime
+        """)
+    Stream<DatedAssignmentRow> streamRosterAssignmentsBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
     );
-}
\ No newline at end of file
+}
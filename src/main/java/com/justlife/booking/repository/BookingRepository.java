@@ -1,8 +1,19 @@
 package com.justlife.booking.repository;
 
 import com.justlife.booking.model.Booking;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> { }
\ No newline at end of file
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    /**
+     * Loads the booking with its vehicle, cleaners and slot claims in one
+     * query, for changes that release or describe its assignments.
+     */
+    @EntityGraph(attributePaths = {"vehicle", "cleaners.cleaner", "cleaners.slots"})
+    Optional<Booking> findWithAssignmentsById(Long id);
+}
@@ -1,6 +1,7 @@
 package com.justlife.booking.repository;
 
 import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.repository.projection.RosterRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,6 +11,12 @@ import java.util.List;
 @Repository
 public interface CleanerRepository extends JpaRepository<Cleaner, Long> {
 
-    @Query("select c from Cleaner c where c.vehicle is not null")
-    List<Cleaner> findAllWithVehicle();
-}
\ No newline at end of file
+    @Query("""
+        SELECT new com.justlife.booking.repository.projection.RosterRow(
+            c.id, c.name, v.id, v.name
+        )
+        FROM Cleaner c
+        JOIN c.vehicle v
+        """)
+    List<RosterRow> findRoster();
+}
@@ -0,0 +1,35 @@
+package com.justlife.booking.repository;
+
+import com.justlife.booking.model.DayVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface DayVersionRepository extends JpaRepository<DayVersion, LocalDate> {
+
+    @Modifying
+    @Query("UPDATE DayVersion v SET v.version = v.version + 1 WHERE v.date = :date")
+    int increment(@Param("date") LocalDate date);
+
+    /**
+     * Starts the date at version 1 if it has no row yet. Two writers starting
+     * the same date at once make one of them fail on the primary key.
+     */
+    @Modifying
+    @Query(
+            value = """
+                INSERT INTO booking_day_versions (date, version)
+                SELECT :date, 1
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM booking_day_versions WHERE date = :date
+                )
+                """,
+            nativeQuery = true
+    )
+    int insertFirst(@Param("date") LocalDate date);
+}
@@ -0,0 +1,10 @@
+package com.justlife.booking.repository.projection;
+
+import java.time.LocalTime;
+
+public record AssignmentRow(
+        Long bookingId,
+        Long cleanerId,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
@@ -0,0 +1,12 @@
+package com.justlife.booking.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record DatedAssignmentRow(
+        LocalDate date,
+        Long bookingId,
+        Long cleanerId,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
@@ -0,0 +1,8 @@
+package com.justlife.booking.repository.projection;
+
+public record RosterRow(
+        Long cleanerId,
+        String cleanerName,
+        Long vehicleId,
+        String vehicleName
+) {}
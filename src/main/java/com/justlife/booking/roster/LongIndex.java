@@ -0,0 +1,62 @@
+package com.justlife.booking.roster;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code long} ids to dense {@code int} positions.
+ * Filled once while a snapshot is built and read-only afterwards.
+ */
+public final class LongIndex {
+
+    private static final int ABSENT = -1;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    public LongIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+
+        Arrays.fill(values, ABSENT);
+    }
+
+    public void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+
+        int slot = slot(key);
+
+        while (values[slot] != ABSENT && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * @return the position stored for {@code key}, or {@code -1} when absent
+     */
+    public int get(long key) {
+        int slot = slot(key);
+
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return ABSENT;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,132 @@
+package com.justlife.booking.roster;
+
+import com.justlife.booking.repository.projection.RosterRow;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the cleaners that have a vehicle, grouped by vehicle.
+ * <p>
+ * Cleaners and vehicles are addressed by dense positions: vehicles are sorted
+ * by id, and the cleaners of vehicle {@code v} occupy the contiguous range
+ * {@code [firstCleaner(v), endCleaner(v))}, sorted by id. Ids map back to
+ * positions through primitive {@link LongIndex} lookups.
+ */
+public final class Roster {
+
+    private static final Roster EMPTY = new Roster(List.of());
+
+    private final long[] cleanerIds;
+    private final String[] cleanerNames;
+    private final int[] cleanerVehicles;
+
+    private final long[] vehicleIds;
+    private final String[] vehicleNames;
+    private final int[] vehicleOffsets;
+
+    private final LongIndex cleanerIndex;
+    private final LongIndex vehicleIndex;
+
+    private Roster(List<RosterRow> rows) {
+        RosterRow[] sorted = rows.toArray(RosterRow[]::new);
+        Arrays.sort(sorted, Comparator
+                .comparingLong(RosterRow::vehicleId)
+                .thenComparingLong(RosterRow::cleanerId));
+
+        int cleaners = sorted.length;
+        int vehicles = 0;
+        for (int i = 0; i < cleaners; i++) {
+            if (i == 0 || !sorted[i].vehicleId().equals(sorted[i - 1].vehicleId())) {
+                vehicles++;
+            }
+        }
+
+        cleanerIds = new long[cleaners];
+        cleanerNames = new String[cleaners];
+        cleanerVehicles = new int[cleaners];
+        vehicleIds = new long[vehicles];
+        vehicleNames = new String[vehicles];
+        vehicleOffsets = new int[vehicles + 1];
+        cleanerIndex = new LongIndex(cleaners);
+        vehicleIndex = new LongIndex(vehicles);
+
+        int v = -1;
+        for (int c = 0; c < cleaners; c++) {
+            RosterRow row = sorted[c];
+
+            if (v < 0 || row.vehicleId() != vehicleIds[v]) {
+                v++;
+                vehicleIds[v] = row.vehicleId();
+                vehicleNames[v] = row.vehicleName();
+                vehicleOffsets[v] = c;
+                vehicleIndex.put(row.vehicleId(), v);
+            }
+
+            cleanerIds[c] = row.cleanerId();
+            cleanerNames[c] = row.cleanerName();
+            cleanerVehicles[c] = v;
+            cleanerIndex.put(row.cleanerId(), c);
+        }
+        vehicleOffsets[vehicles] = cleaners;
+    }
+
+    public static Roster of(List<RosterRow> rows) {
+        return rows.isEmpty() ? EMPTY : new Roster(rows);
+    }
+
+    public boolean isEmpty() {
+        return cleanerIds.length == 0;
+    }
+
+    public int cleanerCount() {
+        return cleanerIds.length;
+    }
+
+    public int vehicleCount() {
+        return vehicleIds.length;
+    }
+
+    public long cleanerId(int cleaner) {
+        return cleanerIds[cleaner];
+    }
+
+    public String cleanerName(int cleaner) {
+        return cleanerNames[cleaner];
+    }
+
+    public int vehicleOf(int cleaner) {
+        return cleanerVehicles[cleaner];
+    }
+
+    public long vehicleId(int vehicle) {
+        return vehicleIds[vehicle];
+    }
+
+    public String vehicleName(int vehicle) {
+        return vehicleNames[vehicle];
+    }
+
+    public int firstCleaner(int vehicle) {
+        return vehicleOffsets[vehicle];
+    }
+
+    public int endCleaner(int vehicle) {
+        return vehicleOffsets[vehicle + 1];
+    }
+
+    /**
+     * @return the position of the cleaner, or {@code -1} if it is not on the roster
+     */
+    public int indexOfCleaner(long cleanerId) {
+        return cleanerIndex.get(cleanerId);
+    }
+
+    /**
+     * @return the position of the vehicle, or {@code -1} if it is not on the roster
+     */
+    public int indexOfVehicle(long vehicleId) {
+        return vehicleIndex.get(vehicleId);
+    }
+}
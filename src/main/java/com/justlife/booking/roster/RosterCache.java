@@ -0,0 +1,110 @@
+package com.justlife.booking.roster;
+
+import com.justlife.booking.repository.CleanerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide {@link Roster} snapshot, loaded on first use.
+ * <p>
+ * Cleaner and vehicle changes invalidate it as soon as they are flushed and
+ * again when their transaction completes, so a snapshot loaded while the
+ * change was uncommitted is not kept. A load that overlaps an invalidation is
+ * served once but not cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class RosterCache {
+
+    private final CleanerRepository cleanerRepository;
+
+    private final Object lock = new Object();
+    private Roster current;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Roster roster() {
+        long seen;
+        synchronized (lock) {
+            if (current != null) {
+                hits.incrementAndGet();
+                return current;
+            }
+            seen = generation;
+        }
+
+        misses.incrementAndGet();
+        Roster loaded = Roster.of(cleanerRepository.findRoster());
+
+        synchronized (lock) {
+            if (seen == generation && current == null) {
+                current = loaded;
+            }
+        }
+
+        return loaded;
+    }
+
+    public void invalidate() {
+        synchronized (lock) {
+            generation++;
+            current = null;
+        }
+    }
+
+    /**
+     * Drops the snapshot and loads a new one, for changes made outside JPA.
+     */
+    public Roster refresh() {
+        invalidate();
+        return roster();
+    }
+
+    public Optional<Roster> cached() {
+        synchronized (lock) {
+            return Optional.ofNullable(current);
+        }
+    }
+
+    /**
+     * Invalidates now and, inside a transaction, again once it completes.
+     */
+    public void changed() {
+        invalidate();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            invalidate();
+                        }
+                    }
+            );
+        }
+    }
+
+    /**
+     * @return a counter that moves whenever the cached snapshot is dropped
+     */
+    public long generation() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,22 @@
+package com.justlife.booking.roster;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+@RequiredArgsConstructor
+public class RosterListener {
+
+    // Resolved lazily, like the occupancy listener, to avoid a cycle through
+    // the entity manager factory.
+    private final ObjectProvider<RosterCache> rosterCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChanged(Object entity) {
+        rosterCache.getObject().changed();
+    }
+}
@@ -6,9 +6,11 @@ import com.justlife.booking.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!synthetic")
 @ConditionalOnProperty(
         name = "app.seed.enabled",
         havingValue = "true"
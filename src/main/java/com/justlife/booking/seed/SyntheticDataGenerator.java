@@ -0,0 +1,105 @@
+package com.justlife.booking.seed;
+
+import com.justlife.booking.config.SchedulingConfig;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic bookings for a synthetic fleet.
+ * <p>
+ * Each vehicle's day is filled booking by booking: the cleaners needed are
+ * the ones free earliest, and the booking starts on the next half hour after
+ * all of them are free again, break included, plus a random gap. Vehicles and
+ * cleaners are numbered from zero in roster order; the same seed always
+ * produces the same bookings.
+ */
+final class SyntheticDataGenerator {
+
+    private static final int[] DURATIONS = {60, 120, 180, 240};
+    private static final int[] GAPS = {0, 0, 30, 60, 90};
+    private static final int[] CLEANER_COUNTS = {1, 1, 1, 2, 2, 3};
+    private static final int START_STEP_MINUTES = 30;
+
+    interface Sink {
+
+        void booking(LocalDate date, int vehicle, LocalTime start, LocalTime end, int[] cleaners);
+    }
+
+    private final SyntheticSeedConfig config;
+    private final SchedulingConfig schedulingConfig;
+
+    SyntheticDataGenerator(SyntheticSeedConfig config, SchedulingConfig schedulingConfig) {
+        this.config = config;
+        this.schedulingConfig = schedulingConfig;
+    }
+
+    void generate(LocalDate startDate, Sink sink) {
+        Random random = new Random(config.seed());
+
+        for (int vehicle = 0; vehicle < config.vehicles(); vehicle++) {
+            for (int d = 0; d < config.days(); d++) {
+                LocalDate date = startDate.plusDays(d);
+
+                if (schedulingConfig.isWorkingDay(date.getDayOfWeek())) {
+                    bookDay(date, vehicle, random, sink);
+                }
+            }
+        }
+    }
+
+    private void bookDay(LocalDate date, int vehicle, Random random, Sink sink) {
+        int cleaners = config.cleanersPerVehicle();
+        int dayStart = schedulingConfig.workingHours().start().toSecondOfDay() / 60;
+        int dayEnd = schedulingConfig.workingHours().end().toSecondOfDay() / 60;
+        int breakMinutes = schedulingConfig.breakMinutes();
+
+        int[] freeFrom = new int[cleaners];
+        Arrays.fill(freeFrom, dayStart);
+
+        int target = cleaners * config.bookingsPerCleaner();
+        int assigned = 0;
+
+        for (int attempt = 0; assigned < target && attempt < target * 4; attempt++) {
+            int count = Math.min(cleaners, CLEANER_COUNTS[random.nextInt(CLEANER_COUNTS.length)]);
+            int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+            int gap = GAPS[random.nextInt(GAPS.length)];
+
+            int[] chosen = IntStream.range(0, cleaners)
+                    .boxed()
+                    .sorted(Comparator.comparingInt(c -> freeFrom[c]))
+                    .limit(count)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            int start = gap;
+            for (int c : chosen) {
+                start = Math.max(start, freeFrom[c] + gap);
+            }
+            start = (start + START_STEP_MINUTES - 1) / START_STEP_MINUTES * START_STEP_MINUTES;
+
+            if (start + duration > dayEnd) {
+                continue;
+            }
+
+            int[] roster = new int[count];
+            for (int i = 0; i < count; i++) {
+                roster[i] = vehicle * cleaners + chosen[i];
+                freeFrom[chosen[i]] = start + duration + breakMinutes;
+            }
+
+            sink.booking(
+                    date,
+                    vehicle,
+                    LocalTime.of(start / 60, start % 60),
+                    LocalTime.of((start + duration) / 60, (start + duration) % 60),
+                    roster
+            );
+            assigned += count;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.justlife.booking.seed;
+
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.model.BookingStatus;
+import com.justlife.booking.occupancy.SlotGrid;
+import com.justlife.booking.roster.RosterCache;
+import com.justlife.booking.time.TimeProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads a synthetic fleet and its bookings for load and capacity testing.
+ * <p>
+ * Rows are written straight through batched JDBC with ids counted from one,
+ * so the database must be empty; afterwards every id sequence is restarted
+ * past the rows written, the way Hibernate's pooled ids expect.
+ */
+@Component
+@Profile("synthetic")
+@EnableConfigurationProperties(SyntheticSeedConfig.class)
+@RequiredArgsConstructor
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    // Allocation sizes of the entity id generators.
+    private static final Map<String, Integer> SEQUENCES = Map.of(
+            "vehicles", 50,
+            "cleaners", 50,
+            "bookings", 50,
+            "booking_cleaners", 50,
+            "booking_cleaner_slots", 500
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final RosterCache rosterCache;
+    private final SyntheticSeedConfig config;
+    private final SchedulingConfig schedulingConfig;
+    private final TimeProvider timeProvider;
+
+    @Override
+    public void run(String... args) {
+        Integer vehicles = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles", Integer.class);
+
+        if (vehicles != null && vehicles > 0) {
+            System.out.println("⏭️ Synthetic seeding skipped, the database already has vehicles");
+            return;
+        }
+
+        long started = System.nanoTime();
+        Writer writer = new Writer(timeProvider.now().toLocalDateTime());
+
+        transactionOperations.executeWithoutResult(status -> {
+            writer.fleet();
+            new SyntheticDataGenerator(config, schedulingConfig).generate(startDate(), writer);
+            writer.flush();
+
+            writer.counts.forEach(this::restartSequence);
+        });
+
+        rosterCache.invalidate();
+
+        System.out.printf(
+                "✅ Seeded %d vehicles, %d cleaners, %d bookings and %d slot claims in %d ms%n",
+                writer.counts.get("vehicles"),
+                writer.counts.get("cleaners"),
+                writer.counts.get("bookings"),
+                writer.counts.get("booking_cleaner_slots"),
+                Duration.ofNanos(System.nanoTime() - started).toMillis()
+        );
+    }
+
+    private LocalDate startDate() {
+        return config.startDate() != null
+                ? config.startDate()
+                : timeProvider.now().toLocalDate().plusDays(1);
+    }
+
+    // A pooled sequence read at n hands out [n - size + 1, n], so the next
+    // read must land one allocation past the last row written.
+    private void restartSequence(String table, long rows) {
+        jdbcTemplate.execute(
+                "ALTER SEQUENCE " + table + "_seq RESTART WITH " + (rows + SEQUENCES.get(table))
+        );
+    }
+
+    // Buffers rows per table and writes them parents first, so foreign keys
+    // always point at rows already written.
+    private final class Writer implements SyntheticDataGenerator.Sink {
+
+        private final LocalDateTime now;
+        private final SlotGrid grid = SlotGrid.of(schedulingConfig);
+        private final Map<String, Long> counts = new LinkedHashMap<>();
+
+        private final List<Object[]> bookings = new ArrayList<>();
+        private final List<Object[]> assignments = new ArrayList<>();
+        private final List<Object[]> slots = new ArrayList<>();
+
+        Writer(LocalDateTime now) {
+            this.now = now;
+            SEQUENCES.keySet().forEach(table -> counts.put(table, 0L));
+        }
+
+        void fleet() {
+            List<Object[]> vehicles = new ArrayList<>();
+            List<Object[]> cleaners = new ArrayList<>();
+
+            for (int v = 0; v < config.vehicles(); v++) {
+                long vehicleId = next("vehicles");
+                vehicles.add(new Object[] {vehicleId, "Vehicle-" + (v + 1), now, now});
+
+                for (int c = 0; c < config.cleanersPerVehicle(); c++) {
+                    cleaners.add(new Object[] {
+                            next("cleaners"), "Cleaner-" + (v + 1) + "-" + (c + 1), vehicleId, now, now
+                    });
+                }
+            }
+
+            batch("INSERT INTO vehicles (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                    vehicles);
+            batch("INSERT INTO cleaners (id, name, vehicle_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                    cleaners);
+        }
+
+        @Override
+        public void booking(
+                LocalDate date,
+                int vehicle,
+                LocalTime start,
+                LocalTime end,
+                int[] cleaners
+        ) {
+            long bookingId = next("bookings");
+            bookings.add(new Object[] {
+                    bookingId, date, start, end, vehicle + 1L, BookingStatus.CREATED.name(), now, now
+            });
+
+            int firstSlot = grid.firstSlot(start);
+            int endSlot = grid.endSlot(end);
+
+            for (int cleaner : cleaners) {
+                long cleanerId = cleaner + 1L;
+                long assignmentId = next("booking_cleaners");
+                assignments.add(new Object[] {assignmentId, bookingId, cleanerId});
+
+                for (int slot = firstSlot; slot < endSlot; slot++) {
+                    slots.add(new Object[] {next("booking_cleaner_slots"), assignmentId, cleanerId, date, slot});
+                }
+            }
+
+            if (slots.size() >= config.batchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            batch("INSERT INTO bookings (id, date, start_time, end_time, vehicle_id, status, created_at, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+            batch("INSERT INTO booking_cleaners (id, booking_id, cleaner_id) VALUES (?, ?, ?)",
+                    assignments);
+            batch("INSERT INTO booking_cleaner_slots (id, booking_cleaner_id, cleaner_id, date, slot_index)"
+                    + " VALUES (?, ?, ?, ?, ?)", slots);
+        }
+
+        private long next(String table) {
+            return counts.merge(table, 1L, Long::sum);
+        }
+
+        private void batch(String sql, List<Object[]> rows) {
+            for (int from = 0; from < rows.size(); from += config.batchSize()) {
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + config.batchSize())));
+            }
+            rows.clear();
+        }
+    }
+}
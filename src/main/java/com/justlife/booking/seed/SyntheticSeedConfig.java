@@ -0,0 +1,22 @@
+package com.justlife.booking.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Shape of the synthetic dataset: a fleet of {@code vehicles} with
+ * {@code cleanersPerVehicle} cleaners each, booked to about
+ * {@code bookingsPerCleaner} bookings per cleaner on each working day of
+ * {@code days} days from {@code startDate}, or from tomorrow if it is unset.
+ */
+@ConfigurationProperties(prefix = "app.synthetic")
+public record SyntheticSeedConfig(
+        int vehicles,
+        int cleanersPerVehicle,
+        int bookingsPerCleaner,
+        int days,
+        LocalDate startDate,
+        long seed,
+        int batchSize
+) {}
@@ -1,40 +1,154 @@
 package com.justlife.booking.service;
 
+import com.justlife.booking.availability.DailyAvailability;
+import com.justlife.booking.availability.DailyAvailabilityCache;
+import com.justlife.booking.availability.SingleFlight;
 import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.dto.AvailabilityHeatmapDto;
 import com.justlife.booking.dto.CleanerDailyAvailabilityDto;
 import com.justlife.booking.dto.CleanerDto;
+import com.justlife.booking.dto.DatedVehicleAvailabilityDto;
+import com.justlife.booking.dto.HeatmapDayDto;
+import com.justlife.booking.dto.SlotOptionDto;
 import com.justlife.booking.dto.VehicleAvailabilityDto;
 import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
-import com.justlife.booking.model.BookingCleaner;
-import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.dto.VehicleHeatmapDto;
+import com.justlife.booking.metrics.ScanCounts;
+import com.justlife.booking.metrics.ServiceMetrics;
 import com.justlife.booking.model.TimeSlot;
-import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.BucketCounter;
+import com.justlife.booking.occupancy.DayOccupancy;
+import com.justlife.booking.occupancy.DayVersions;
+import com.justlife.booking.occupancy.FreeTime;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.occupancy.SlotGrid;
 import com.justlife.booking.repository.BookingCleanerRepository;
-import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.DatedAssignmentRow;
+import com.justlife.booking.roster.Roster;
+import com.justlife.booking.roster.RosterCache;
 import com.justlife.booking.time.TimeProvider;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.justlife.booking.metrics.ServiceMetrics.AVAILABILITY;
 
 @Service
-@RequiredArgsConstructor
 public class AvailabilityService {
 
-    private final CleanerRepository cleanerRepository;
+    private static final int SEARCH_HORIZON_DAYS = 28;
+    private static final int SEARCH_CHUNK_DAYS = 7;
+    private static final int MAX_SEARCH_OPTIONS = 20;
+    private static final int MAX_RANGE_DAYS = 90;
+    private static final int MAX_HEATMAP_DAYS = 31;
+
+    private final RosterCache rosterCache;
     private final BookingCleanerRepository bookingCleanerRepository;
+    private final OccupancyIndex occupancyIndex;
+    private final DayVersions dayVersions;
+    private final DailyAvailabilityCache dailyAvailabilityCache;
+    private final SingleFlight singleFlight;
+    private final TransactionOperations transactionOperations;
     private final SchedulingConfig schedulingConfig;
     private final TimeProvider timeProvider;
+    private final ServiceMetrics serviceMetrics;
+
+    public AvailabilityService(
+            RosterCache rosterCache,
+            BookingCleanerRepository bookingCleanerRepository,
+            OccupancyIndex occupancyIndex,
+            DayVersions dayVersions,
+            DailyAvailabilityCache dailyAvailabilityCache,
+            SingleFlight singleFlight,
+            PlatformTransactionManager transactionManager,
+            SchedulingConfig schedulingConfig,
+            TimeProvider timeProvider,
+            ServiceMetrics serviceMetrics
+    ) {
+        this.rosterCache = rosterCache;
+        this.bookingCleanerRepository = bookingCleanerRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.dayVersions = dayVersions;
+        this.dailyAvailabilityCache = dailyAvailabilityCache;
+        this.singleFlight = singleFlight;
+        this.schedulingConfig = schedulingConfig;
+        this.timeProvider = timeProvider;
+        this.serviceMetrics = serviceMetrics;
+
+        // Reads only: no flush on commit, and a read-only connection a replica
+        // or pooler may route differently.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        this.transactionOperations = readOnly;
+    }
 
     public List<VehicleDailyAvailabilityDto> getDailyAvailabilityByVehicle(
             LocalDate date
     ) {
+        return getDailyAvailability(date).vehicles();
+    }
+
+    /**
+     * @return the tag {@link #getDailyAvailability} would return for the date,
+     *         worked out without reading any bookings
+     */
+    public String getDailyAvailabilityTag(LocalDate date) {
+        validateDailyRequest(date);
+
+        return dailyAvailabilityCache.tag(dailyKey(date));
+    }
+
+    public DailyAvailability getDailyAvailability(LocalDate date) {
+        return serviceMetrics.request(AVAILABILITY, "daily", () -> dailyAvailability(date));
+    }
+
+    private DailyAvailability dailyAvailability(LocalDate date) {
+        serviceMetrics.phase(AVAILABILITY, "daily", "validate", () -> validateDailyRequest(date));
+
+        // The key is taken before reading, so a result that raced a booking
+        // change is filed under the version that preceded it.
+        DailyAvailabilityCache.Key key = dailyKey(date);
+
+        List<VehicleDailyAvailabilityDto> vehicles =
+                dailyAvailabilityCache.get(key, () ->
+                        singleFlight.execute(key, () ->
+                                transactionOperations.execute(status ->
+                                        computeDailyAvailability(date, key.dayStart())
+                                )
+                        )
+                );
+
+        return new DailyAvailability(dailyAvailabilityCache.tag(key), vehicles);
+    }
+
+    private DailyAvailabilityCache.Key dailyKey(LocalDate date) {
+        return new DailyAvailabilityCache.Key(
+                date,
+                dayVersions.version(date),
+                rosterCache.generation(),
+                effectiveDayStart(date)
+        );
+    }
+
+    private void validateDailyRequest(LocalDate date) {
         if (!schedulingConfig.isWorkingDay(date.getDayOfWeek())) {
             throw new IllegalArgumentException("Non-working day");
         }
@@ -51,64 +165,164 @@ public class AvailabilityService {
         if (businessDay.isBefore(now)) {
             throw new IllegalArgumentException("Cannot check availability for past dates");
         }
+    }
 
-        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+    private List<VehicleDailyAvailabilityDto> computeDailyAvailability(
+            LocalDate date,
+            LocalTime dayStart
+    ) {
+        Roster roster = serviceMetrics.phase(AVAILABILITY, "daily", "roster", rosterCache::roster);
 
-        if (cleaners.isEmpty()) {
+        if (roster.isEmpty()) {
             return List.of();
         }
 
-        List<BookingCleaner> assignments =
-                bookingCleanerRepository
-                        .findAssignmentsForCleanersOnDate(cleaners, date);
+        List<AssignmentRow> assignments =
+                serviceMetrics.phase(AVAILABILITY, "daily", "query", () ->
+                        bookingCleanerRepository.findRosterAssignmentsOnDate(date)
+                );
 
-        Map<Cleaner, List<BookingCleaner>> assignmentsByCleaner =
-                assignments.stream()
-                        .collect(Collectors.groupingBy(
-                                BookingCleaner::getCleaner
-                        ));
+        List<List<TimeSlot>> busyByCleaner =
+                serviceMetrics.phase(AVAILABILITY, "daily", "group", () ->
+                        bufferedBookingsByCleaner(roster, assignments)
+                );
+
+        return serviceMetrics.phase(AVAILABILITY, "daily", "compute", () ->
+                IntStream.range(0, roster.vehicleCount())
+                        .mapToObj(vehicle ->
+                                new VehicleDailyAvailabilityDto(
+                                        roster.vehicleId(vehicle),
+                                        roster.vehicleName(vehicle),
+                                        availableCleaners(roster, vehicle, dayStart, busyByCleaner)
+                                )
+                        )
+                        .filter(v -> !v.cleaners().isEmpty())
+                        .toList()
+        );
+    }
+
+    /**
+     * Streams the availability of every working day from {@code from} to
+     * {@code to} to the sink, one vehicle at a time in date and roster order.
+     * The assignments of the whole range are read with one query ordered by
+     * date and consumed a day at a time, so memory use does not grow with the
+     * length of the range.
+     */
+    public void streamAvailabilityRange(
+            LocalDate from,
+            LocalDate to,
+            Consumer<DatedVehicleAvailabilityDto> sink
+    ) {
+        serviceMetrics.request(AVAILABILITY, "range", () -> streamRange(from, to, sink));
+    }
 
-        Map<Long, List<Cleaner>> cleanersByVehicle =
-                cleaners.stream()
-                        .collect(Collectors.groupingBy(
-                                c -> c.getVehicle().getId()
+    private void streamRange(
+            LocalDate from,
+            LocalDate to,
+            Consumer<DatedVehicleAvailabilityDto> sink
+    ) {
+        validateRangeRequest(from, to);
+
+        transactionOperations.executeWithoutResult(status -> {
+            Roster roster = rosterCache.roster();
+
+            if (roster.isEmpty()) {
+                return;
+            }
+
+            try (Stream<DatedAssignmentRow> rows =
+                         bookingCleanerRepository.streamRosterAssignmentsBetween(from, to)) {
+
+                Iterator<DatedAssignmentRow> iterator = rows.iterator();
+                DatedAssignmentRow next = iterator.hasNext() ? iterator.next() : null;
+
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    List<AssignmentRow> assignments = new ArrayList<>();
+
+                    while (next != null && !next.date().isAfter(date)) {
+                        assignments.add(new AssignmentRow(
+                                next.bookingId(),
+                                next.cleanerId(),
+                                next.startTime(),
+                                next.endTime()
                         ));
+                        next = iterator.hasNext() ? iterator.next() : null;
+                    }
+
+                    if (!schedulingConfig.isWorkingDay(date.getDayOfWeek())) {
+                        continue;
+                    }
+
+                    LocalTime dayStart = effectiveDayStart(date);
+                    List<List<TimeSlot>> busyByCleaner =
+                            bufferedBookingsByCleaner(roster, assignments);
+
+                    for (int vehicle = 0; vehicle < roster.vehicleCount(); vehicle++) {
+                        List<CleanerDailyAvailabilityDto> cleaners =
+                                availableCleaners(roster, vehicle, dayStart, busyByCleaner);
+
+                        if (!cleaners.isEmpty()) {
+                            sink.accept(new DatedVehicleAvailabilityDto(
+                                    date,
+                                    roster.vehicleId(vehicle),
+                                    roster.vehicleName(vehicle),
+                                    cleaners
+                            ));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Rejects a range request before any of it is streamed, while an error
+     * response can still be sent.
+     */
+    public void validateRangeRequest(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException(
+                    "Range must not exceed " + MAX_RANGE_DAYS + " days"
+            );
+        }
+
+        ZonedDateTime firstDayEnd =
+                ZonedDateTime.of(
+                        from,
+                        schedulingConfig.workingHours().end(),
+                        schedulingConfig.timezone()
+                );
+
+        if (firstDayEnd.isBefore(timeProvider.now())) {
+            throw new IllegalArgumentException("Cannot check availability for past dates");
+        }
+    }
 
-        return cleanersByVehicle.values().stream()
-                .filter(c -> !c.isEmpty())
-                .map(vehicleCleaners -> {
-
-                    List<CleanerDailyAvailabilityDto> availableCleaners =
-                            vehicleCleaners
-                                    .stream()
-                                    .map(cleaner -> {
-                                        List<TimeSlot> slots =
-                                                calculateAvailability(
-                                                        date,
-                                                        assignmentsByCleaner
-                                                                .getOrDefault(
-                                                                        cleaner,
-                                                                        List.of()
-                                                                )
-                                                );
-                                        return new CleanerDailyAvailabilityDto(
-                                                cleaner.getId(),
-                                                cleaner.getName(),
-                                                slots
-                                        );
-                                    })
-                                    .filter(c -> !c.timeSlots().isEmpty())
-                                    .toList();
-
-                    Vehicle vehicle = vehicleCleaners.get(0).getVehicle();
-
-                    return new VehicleDailyAvailabilityDto(
-                            vehicle.getId(),
-                            vehicle.getName(),
-                            availableCleaners
-                    );
-                })
-                .filter(v -> !v.cleaners().isEmpty())
+    private List<CleanerDailyAvailabilityDto> availableCleaners(
+            Roster roster,
+            int vehicle,
+            LocalTime dayStart,
+            List<List<TimeSlot>> busyByCleaner
+    ) {
+        return IntStream.range(
+                        roster.firstCleaner(vehicle),
+                        roster.endCleaner(vehicle)
+                )
+                .mapToObj(cleaner ->
+                        new CleanerDailyAvailabilityDto(
+                                roster.cleanerId(cleaner),
+                                roster.cleanerName(cleaner),
+                                calculateAvailability(
+                                        dayStart,
+                                        busyByCleaner.get(cleaner)
+                                )
+                        )
+                )
+                .filter(c -> !c.timeSlots().isEmpty())
                 .toList();
     }
 
@@ -117,75 +331,342 @@ public class AvailabilityService {
             LocalTime startTime,
             int durationMinutes
     ) {
-        validateRequest(date, startTime, durationMinutes);
+        return serviceMetrics.request(AVAILABILITY, "window", () ->
+                availabilityByVehicle(date, startTime, durationMinutes)
+        );
+    }
 
-        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+    private List<VehicleAvailabilityDto> availabilityByVehicle(
+            LocalDate date,
+            LocalTime startTime,
+            int durationMinutes
+    ) {
+        serviceMetrics.phase(AVAILABILITY, "window", "validate", () ->
+                validateRequest(date, startTime, durationMinutes)
+        );
+
+        WindowKey key = new WindowKey(
+                date,
+                startTime,
+                durationMinutes,
+                dayVersions.version(date),
+                rosterCache.generation()
+        );
+
+        return singleFlight.execute(key, () ->
+                transactionOperations.execute(status ->
+                        computeAvailability(date, startTime, durationMinutes, key.version())
+                )
+        );
+    }
 
-        if (cleaners.isEmpty()) {
+    private List<VehicleAvailabilityDto> computeAvailability(
+            LocalDate date,
+            LocalTime startTime,
+            int durationMinutes,
+            long version
+    ) {
+        Roster roster = serviceMetrics.phase(AVAILABILITY, "window", "roster", rosterCache::roster);
+
+        if (roster.isEmpty()) {
             return List.of();
         }
 
         LocalTime endTime = startTime.plusMinutes(durationMinutes);
 
-        LocalTime startWithBuffer =
-                startTime.minusMinutes(schedulingConfig.breakMinutes());
-
-        LocalTime endWithBuffer =
-                endTime.plusMinutes(schedulingConfig.breakMinutes());
-
-        List<BookingCleaner> conflicts =
-                bookingCleanerRepository
-                        .findConflictingAssignmentsForCleaners(
-                                cleaners,
-                                date,
-                                startWithBuffer,
-                                endWithBuffer
-                        );
-
-        Map<Cleaner, List<BookingCleaner>> conflictsByCleaner =
-                conflicts.stream()
-                        .collect(Collectors.groupingBy(
-                                BookingCleaner::getCleaner
-                        ));
+        DayOccupancy occupancy =
+                serviceMetrics.phase(AVAILABILITY, "window", "occupancy", () ->
+                        occupancyIndex.day(date, version)
+                );
+        ScanCounts scanned = new ScanCounts();
+
+        List<VehicleAvailabilityDto> vehicles =
+                serviceMetrics.phase(AVAILABILITY, "window", "compute", () ->
+                        IntStream.range(0, roster.vehicleCount())
+                                .filter(vehicle -> occupancy.mayFit(roster, vehicle, startTime, endTime, 1))
+                                .mapToObj(vehicle -> new VehicleAvailabilityDto(
+                                        roster.vehicleId(vehicle),
+                                        roster.vehicleName(vehicle),
+                                        IntStream.range(
+                                                        roster.firstCleaner(vehicle),
+                                                        roster.endCleaner(vehicle)
+                                                )
+                                                .filter(cleaner -> scanned.checked(
+                                                        occupancy.isFree(
+                                                                roster.cleanerId(cleaner),
+                                                                startTime,
+                                                                endTime
+                                                        )
+                                                ))
+                                                .mapToObj(cleaner ->
+                                                        new CleanerDto(
+                                                                roster.cleanerId(cleaner),
+                                                                roster.cleanerName(cleaner)
+                                                        )
+                                                )
+                                                .toList()
+                                ))
+                                .filter(v -> !v.cleaners().isEmpty())
+                                .toList()
+                );
 
-        Map<Long, List<Cleaner>> cleanersByVehicle =
-                cleaners.stream()
-                        .collect(Collectors.groupingBy(
-                                c -> c.getVehicle().getId()
-                        ));
+        serviceMetrics.considered(AVAILABILITY, "window", scanned);
+
+        return vehicles;
+    }
+
+    /**
+     * Finds the earliest start times, from {@code from} onwards, at which a
+     * booking of the given size fits, with the vehicle it would be allocated.
+     * Days are scanned in order, a week of occupancy loaded at a time, and
+     * the scan stops as soon as {@code limit} options are found.
+     */
+    public List<SlotOptionDto> findNextAvailable(
+            int cleanerCount,
+            int durationMinutes,
+            LocalDateTime from,
+            int limit
+    ) {
+        return serviceMetrics.request(AVAILABILITY, "next", () ->
+                transactionOperations.execute(status ->
+                        searchNextAvailable(cleanerCount, durationMinutes, from, limit)
+                )
+        );
+    }
+
+    private List<SlotOptionDto> searchNextAvailable(
+            int cleanerCount,
+            int durationMinutes,
+            LocalDateTime from,
+            int limit
+    ) {
+        LocalDateTime now = timeProvider.now().toLocalDateTime();
+        LocalDateTime earliest = from != null ? from : now;
+
+        validateSearch(cleanerCount, durationMinutes, earliest, now, limit);
+
+        Roster roster = rosterCache.roster();
+        List<SlotOptionDto> options = new ArrayList<>();
+
+        if (roster.isEmpty()) {
+            return options;
+        }
+
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+        int step = grid.slotSeconds();
+        LocalTime latestStart = schedulingConfig.workingHours().end()
+                .minusMinutes(durationMinutes);
 
-        return cleanersByVehicle.values().stream()
-                .filter(c -> !c.isEmpty())
-                .map(vehicleCleaners -> {
-
-                    List<CleanerDto> availableCleaners =
-                            vehicleCleaners.stream()
-                                    .filter(cleaner ->
-                                            conflictsByCleaner
-                                                    .getOrDefault(
-                                                            cleaner,
-                                                            List.of()
-                                                    )
-                                                    .isEmpty()
-                                    )
-                                    .map(cleaner ->
-                                            new CleanerDto(
-                                                    cleaner.getId(),
-                                                    cleaner.getName()
-                                            )
-                                    )
-                                    .toList();
-
-                    Vehicle vehicle = vehicleCleaners.get(0).getVehicle();
-
-                    return new VehicleAvailabilityDto(
-                            vehicle.getId(),
-                            vehicle.getName(),
-                            availableCleaners
-                    );
-                })
-                .filter(v -> !v.cleaners().isEmpty())
+        LocalDate first = earliest.toLocalDate();
+        LocalDate horizon = first.plusDays(SEARCH_HORIZON_DAYS);
+
+        for (LocalDate chunk = first; chunk.isBefore(horizon); chunk = chunk.plusDays(SEARCH_CHUNK_DAYS)) {
+            List<LocalDate> dates = chunk.datesUntil(chunk.plusDays(SEARCH_CHUNK_DAYS))
+                    .filter(date -> date.isBefore(horizon))
+                    .filter(date -> schedulingConfig.isWorkingDay(date.getDayOfWeek()))
+                    .toList();
+
+            Map<LocalDate, DayOccupancy> days = occupancyIndex.days(dayVersions.versions(dates));
+
+            for (LocalDate date : dates) {
+                DayOccupancy occupancy = days.get(date);
+
+                int second = schedulingConfig.workingHours().start().toSecondOfDay();
+                if (date.equals(first)) {
+                    second = Math.max(second, earliest.toLocalTime().toSecondOfDay());
+                }
+                second = (second + step - 1) / step * step;
+
+                for (; second <= latestStart.toSecondOfDay(); second += step) {
+                    LocalTime start = LocalTime.ofSecondOfDay(second);
+
+                    if (!LocalDateTime.of(date, start).isAfter(now)) {
+                        continue;
+                    }
+
+                    LocalTime end = start.plusMinutes(durationMinutes);
+                    int vehicle = firstFit(roster, occupancy, start, end, cleanerCount);
+
+                    if (vehicle < 0) {
+                        continue;
+                    }
+
+                    options.add(new SlotOptionDto(
+                            date,
+                            start,
+                            end,
+                            roster.vehicleId(vehicle),
+                            roster.vehicleName(vehicle)
+                    ));
+
+                    if (options.size() == limit) {
+                        return options;
+                    }
+                }
+            }
+        }
+
+        return options;
+    }
+
+    private static int firstFit(
+            Roster roster,
+            DayOccupancy occupancy,
+            LocalTime start,
+            LocalTime end,
+            int cleanerCount
+    ) {
+        for (int vehicle = 0; vehicle < roster.vehicleCount(); vehicle++) {
+            int free = 0;
+
+            for (int c = roster.firstCleaner(vehicle); c < roster.endCleaner(vehicle); c++) {
+                if (occupancy.isFree(roster.cleanerId(c), start, end) && ++free == cleanerCount) {
+                    return vehicle;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Counts, for every working day of the range and every vehicle, the
+     * cleaners free for the whole of each bucket, keeping the break around
+     * their bookings. The counts are aggregated from the occupancy bitmaps a
+     * vehicle at a time, without building any free-time slots.
+     */
+    public AvailabilityHeatmapDto getHeatmap(LocalDate from, LocalDate to, int bucketMinutes) {
+        return serviceMetrics.request(AVAILABILITY, "heatmap", () ->
+                transactionOperations.execute(status -> heatmap(from, to, bucketMinutes))
+        );
+    }
+
+    private AvailabilityHeatmapDto heatmap(LocalDate from, LocalDate to, int bucketMinutes) {
+        validateHeatmapRequest(from, to, bucketMinutes);
+
+        LocalTime dayStart = schedulingConfig.workingHours().start();
+        int slotMinutes = schedulingConfig.occupancy().slotMinutes();
+        int bucketSlots = bucketMinutes / slotMinutes;
+        int leadSlots = (schedulingConfig.breakMinutes() + slotMinutes - 1) / slotMinutes;
+        long dayMinutes = Duration.between(dayStart, schedulingConfig.workingHours().end()).toMinutes();
+        int buckets = (int) ((dayMinutes + bucketMinutes - 1) / bucketMinutes);
+
+        List<LocalDate> dates = from.datesUntil(to.plusDays(1))
+                .filter(date -> schedulingConfig.isWorkingDay(date.getDayOfWeek()))
                 .toList();
+
+        Roster roster = rosterCache.roster();
+        Map<LocalDate, DayOccupancy> occupancies = occupancyIndex.days(dayVersions.versions(dates));
+
+        int widest = IntStream.range(0, roster.vehicleCount())
+                .map(vehicle -> roster.endCleaner(vehicle) - roster.firstCleaner(vehicle))
+                .max()
+                .orElse(0);
+
+        BucketCounter busy = new BucketCounter(buckets, widest);
+        long[] mask = new long[BucketCounter.words(buckets)];
+        List<HeatmapDayDto> days = new ArrayList<>(dates.size());
+
+        for (LocalDate date : dates) {
+            DayOccupancy occupancy = occupancies.get(date);
+
+            // Today's buckets that start before the effective day start cannot
+            // be booked any more.
+            long closedMinutes = Duration.between(dayStart, effectiveDayStart(date)).toMinutes();
+            int closed = (int) Math.min(buckets, (closedMinutes + bucketMinutes - 1) / bucketMinutes);
+
+            List<VehicleHeatmapDto> vehicles = new ArrayList<>(roster.vehicleCount());
+
+            for (int vehicle = 0; vehicle < roster.vehicleCount(); vehicle++) {
+                busy.clear();
+
+                for (int cleaner = roster.firstCleaner(vehicle); cleaner < roster.endCleaner(vehicle); cleaner++) {
+                    Arrays.fill(mask, 0L);
+
+                    if (occupancy.busyBuckets(roster.cleanerId(cleaner), leadSlots, bucketSlots, mask)) {
+                        busy.add(mask);
+                    }
+                }
+
+                int cleaners = roster.endCleaner(vehicle) - roster.firstCleaner(vehicle);
+                int[] free = new int[buckets];
+
+                for (int bucket = closed; bucket < buckets; bucket++) {
+                    free[bucket] = cleaners - busy.count(bucket);
+                }
+
+                vehicles.add(new VehicleHeatmapDto(
+                        roster.vehicleId(vehicle),
+                        roster.vehicleName(vehicle),
+                        free
+                ));
+            }
+
+            days.add(new HeatmapDayDto(date, vehicles));
+        }
+
+        return new AvailabilityHeatmapDto(dayStart, bucketMinutes, days);
+    }
+
+    private void validateSearch(
+            int cleanerCount,
+            int durationMinutes,
+            LocalDateTime from,
+            LocalDateTime now,
+            int limit
+    ) {
+        int maxCleaners = schedulingConfig.defaults().maxCleanerPerVehicle();
+
+        if (cleanerCount < 1 || cleanerCount > maxCleaners) {
+            throw new IllegalArgumentException("Cleaner count must be between 1 and " + maxCleaners);
+        }
+
+        LocalTime dayStart = schedulingConfig.workingHours().start();
+        LocalTime dayEnd = schedulingConfig.workingHours().end();
+
+        if (durationMinutes <= 0
+                || durationMinutes > Duration.between(dayStart, dayEnd).toMinutes()) {
+            throw new IllegalArgumentException("Invalid duration");
+        }
+
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+
+        if (!grid.isWholeSlots(durationMinutes)) {
+            throw new IllegalArgumentException(
+                    "Duration must be a multiple of " + grid.slotMinutes() + " minutes"
+            );
+        }
+
+        if (from.isBefore(now)) {
+            throw new IllegalArgumentException("Cannot search availability in the past");
+        }
+
+        if (limit < 1 || limit > MAX_SEARCH_OPTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_OPTIONS);
+        }
+    }
+
+    private void validateHeatmapRequest(LocalDate from, LocalDate to, int bucketMinutes) {
+        int slotMinutes = schedulingConfig.occupancy().slotMinutes();
+        long dayMinutes = Duration.between(
+                schedulingConfig.workingHours().start(),
+                schedulingConfig.workingHours().end()
+        ).toMinutes();
+
+        if (bucketMinutes <= 0 || bucketMinutes % slotMinutes != 0 || bucketMinutes > dayMinutes) {
+            throw new IllegalArgumentException(
+                    "Bucket must be a positive multiple of " + slotMinutes
+                            + " minutes within the working day"
+            );
+        }
+
+        if (!to.isBefore(from) && ChronoUnit.DAYS.between(from, to) >= MAX_HEATMAP_DAYS) {
+            throw new IllegalArgumentException(
+                    "Range must not exceed " + MAX_HEATMAP_DAYS + " days"
+            );
+        }
+
+        validateRangeRequest(from, to);
     }
 
     private LocalTime effectiveDayStart(LocalDate date) {
@@ -195,10 +676,13 @@ public class AvailabilityService {
             return schedulingConfig.workingHours().start();
         }
 
-        LocalTime nowWithBuffer =
+        // Rounded up to the slot, the first start a booking can have, which
+        // also keeps today's results cacheable for a slot at a time.
+        LocalTime nowWithBuffer = SlotGrid.of(schedulingConfig).ceil(
                 timeProvider.now()
                         .toLocalTime()
-                        .plusMinutes(schedulingConfig.breakMinutes());
+                        .plusMinutes(schedulingConfig.breakMinutes())
+        );
 
         return nowWithBuffer.isAfter(schedulingConfig.workingHours().start())
                 ? nowWithBuffer
@@ -206,42 +690,45 @@ public class AvailabilityService {
     }
 
     private List<TimeSlot> calculateAvailability(
-            LocalDate date,
-            List<BookingCleaner> assignments
+            LocalTime dayStart,
+            List<TimeSlot> busy
     ) {
-        LocalTime start = effectiveDayStart(date);
         LocalTime end = schedulingConfig.workingHours().end();
 
-        if (!start.isBefore(end)) {
-            return List.of(); // day already over
-        }
-
-        List<TimeSlot> slots = List.of(new TimeSlot(start, end));
-        return subtractBookings(slots, assignments);
+        return FreeTime.sweep(dayStart, end, busy).slots();
     }
 
-    private List<TimeSlot> subtractBookings(
-            List<TimeSlot> slots,
-            List<BookingCleaner> assignments
+    // Keeps the start-time order of the assignments, as the sweep requires.
+    // Bookings are widened to the slots they claim, so the free time shown is
+    // exactly what createBooking accepts.
+    private List<List<TimeSlot>> bufferedBookingsByCleaner(
+            Roster roster,
+            List<AssignmentRow> assignments
     ) {
-
-        List<TimeSlot> result = new ArrayList<>(slots);
-
-        for (BookingCleaner bc : assignments) {
-            LocalTime start =
-                    bc.getBooking().getStartTime()
-                            .minusMinutes(schedulingConfig.breakMinutes());
-
-            LocalTime end =
-                    bc.getBooking().getEndTime()
-                            .plusMinutes(schedulingConfig.breakMinutes());
-
-            result = result.stream()
-                    .flatMap(slot -> slot.subtract(start, end).stream())
-                    .toList();
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+        List<List<TimeSlot>> busy =
+                new ArrayList<>(Collections.nCopies(roster.cleanerCount(), List.of()));
+
+        for (AssignmentRow row : assignments) {
+            int cleaner = roster.indexOfCleaner(row.cleanerId());
+
+            if (cleaner < 0) {
+                continue;
+            }
+
+            if (busy.get(cleaner).isEmpty()) {
+                busy.set(cleaner, new ArrayList<>());
+            }
+
+            busy.get(cleaner).add(new TimeSlot(
+                    grid.floor(row.startTime())
+                            .minusMinutes(schedulingConfig.breakMinutes()),
+                    grid.ceil(row.endTime()
+                            .plusMinutes(schedulingConfig.breakMinutes()))
+            ));
         }
 
-        return result;
+        return busy;
     }
 
     private void validateRequest(
@@ -273,5 +760,27 @@ public class AvailabilityService {
         if (durationMinutes <= 0) {
             throw new IllegalArgumentException("Invalid duration");
         }
+
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+
+        if (!grid.isAligned(startTime)) {
+            throw new IllegalArgumentException(
+                    "Start time must be on a " + grid.slotMinutes() + "-minute boundary"
+            );
+        }
+
+        if (!grid.isWholeSlots(durationMinutes)) {
+            throw new IllegalArgumentException(
+                    "Duration must be a multiple of " + grid.slotMinutes() + " minutes"
+            );
+        }
     }
-}
\ No newline at end of file
+
+    private record WindowKey(
+            LocalDate date,
+            LocalTime startTime,
+            int durationMinutes,
+            long version,
+            long rosterGeneration
+    ) {}
+}
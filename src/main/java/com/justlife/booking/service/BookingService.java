@@ -1,135 +1,182 @@
 package com.justlife.booking.service;
 
+import com.justlife.booking.allocation.AllocationLocks;
+import com.justlife.booking.allocation.AllocationStrategy;
+import com.justlife.booking.allocation.AllocationStrategyType;
 import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.dto.BatchBookingRequestDto;
+import com.justlife.booking.dto.BatchBookingResponseDto;
+import com.justlife.booking.dto.BatchBookingResultDto;
+import com.justlife.booking.dto.BatchOrder;
 import com.justlife.booking.dto.BookingRequestDto;
 import com.justlife.booking.dto.BookingRescheduleRequestDto;
 import com.justlife.booking.dto.BookingResponseDto;
 import com.justlife.booking.dto.CleanerDto;
+import com.justlife.booking.dto.SlotOptionDto;
+import com.justlife.booking.metrics.ScanCounts;
+import com.justlife.booking.metrics.ServiceMetrics;
 import com.justlife.booking.model.*;
-import com.justlife.booking.repository.BookingCleanerRepository;
+import com.justlife.booking.occupancy.DayOccupancy;
+import com.justlife.booking.occupancy.DayVersions;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.occupancy.SlotGrid;
 import com.justlife.booking.repository.BookingRepository;
 import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.roster.Roster;
+import com.justlife.booking.roster.RosterCache;
 import com.justlife.booking.time.TimeProvider;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.justlife.booking.metrics.ServiceMetrics.BOOKING;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final int CLAIM_ATTEMPTS = 3;
+    private static final AllocationStrategy FIRST_FIT = AllocationStrategyType.FIRST_FIT.strategy();
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int SAME_DAY_ALTERNATIVES = 4;
+    private static final int NEXT_DAY_ALTERNATIVES = 3;
+    private static final int NEXT_DAY_SCAN_DAYS = 7;
+
     private final CleanerRepository cleanerRepository;
     private final BookingRepository bookingRepository;
-    private final BookingCleanerRepository bookingCleanerRepository;
+    private final VehicleRepository vehicleRepository;
+    private final RosterCache rosterCache;
+    private final OccupancyIndex occupancyIndex;
+    private final DayVersions dayVersions;
+    private final AllocationLocks allocationLocks;
+    private final TransactionOperations transactionOperations;
     private final SchedulingConfig schedulingConfig;
     private final TimeProvider timeProvider;
+    private final ServiceMetrics serviceMetrics;
 
-    @Transactional
     public BookingResponseDto createBooking(BookingRequestDto request) {
+        return serviceMetrics.request(BOOKING, "create", () ->
+                withClaimRetry(List.of(request.date()), () -> create(request))
+        );
+    }
 
-        validateCreate(request);
+    /**
+     * Creates every booking of the batch that can be allocated. The roster and
+     * the occupancy of the affected dates are loaded once, the bookings are
+     * allocated in memory against them and the successful ones are written
+     * together, so a failed booking does not fail the rest of the batch.
+     */
+    public BatchBookingResponseDto createBookings(BatchBookingRequestDto request) {
+        return serviceMetrics.request(BOOKING, "batch", () -> createBatch(request));
+    }
 
-        LocalDate date = request.date();
-        LocalTime startTime = request.startTime();
-        LocalTime endTime = startTime.plusMinutes(request.durationMinutes());
+    public BookingResponseDto rescheduleBooking(Long bookingId, BookingRescheduleRequestDto request) {
+        return serviceMetrics.request(BOOKING, "reschedule", () ->
+                withClaimRetry(List.of(request.date()), () -> reschedule(bookingId, request))
+        );
+    }
 
-        LocalTime startWithBuffer = startTime.minusMinutes(schedulingConfig.breakMinutes());
-        LocalTime endWithBuffer = endTime.plusMinutes(schedulingConfig.breakMinutes());
+    public void cancelBooking(Long bookingId) {
+        serviceMetrics.request(BOOKING, "cancel", () ->
+                transactionOperations.executeWithoutResult(status -> cancel(bookingId))
+        );
+    }
 
-        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+    private BatchBookingResponseDto createBatch(BatchBookingRequestDto request) {
+        List<BookingRequestDto> items = request.bookings();
 
-        if (cleaners.isEmpty()) {
-            throw new IllegalStateException("No cleaners configured");
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one booking");
         }
 
-        List<BookingCleaner> conflicts =
-                bookingCleanerRepository.findConflictingAssignmentsForCleaners(
-                        cleaners,
-                        date,
-                        startWithBuffer,
-                        endWithBuffer
-                );
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Batch must not contain more than " + MAX_BATCH_SIZE + " bookings"
+            );
+        }
 
-        Map<Cleaner, List<BookingCleaner>> conflictsByCleaner =
-                conflicts.stream()
-                        .collect(Collectors.groupingBy(
-                                BookingCleaner::getCleaner
-                        ));
-
-        Map<Long, List<Cleaner>> cleanersByVehicle =
-                cleaners.stream()
-                        .collect(Collectors.groupingBy(
-                                c -> c.getVehicle().getId()
-                        ));
-
-        for (List<Cleaner> vehicleCleaners : cleanersByVehicle.values()) {
-            List<Cleaner> availableCleaners =
-                    vehicleCleaners.stream()
-                            .filter(c ->
-                                    conflictsByCleaner
-                                            .getOrDefault(c, List.of())
-                                            .isEmpty()
-                            )
-                            .toList();
+        BatchBookingResultDto[] results = new BatchBookingResultDto[items.size()];
+        List<Integer> accepted = new ArrayList<>();
 
-            if (request.cleanerCount() <= availableCleaners.size()) {
+        for (int i = 0; i < items.size(); i++) {
+            BookingRequestDto item = items.get(i);
 
-                Vehicle vehicle = vehicleCleaners.get(0).getVehicle();
+            try {
+                if (item == null || item.date() == null || item.startTime() == null) {
+                    throw new IllegalArgumentException("Date and start time are required");
+                }
 
-                Booking booking = new Booking(
-                        date,
-                        startTime,
-                        endTime,
-                        vehicle
-                );
+                validateCreate(item);
+                accepted.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = failed(i, HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
 
-                List<Cleaner> assigned =
-                        availableCleaners.subList(
-                                0,
-                                request.cleanerCount()
-                        );
+        if (request.order() == BatchOrder.LARGEST_FIRST) {
+            accepted.sort(Comparator
+                    .comparingInt((Integer i) -> items.get(i).cleanerCount())
+                    .thenComparingInt(i -> items.get(i).durationMinutes())
+                    .reversed());
+        }
 
-                assigned.forEach(booking::assignCleaner);
+        if (!accepted.isEmpty()) {
+            Set<LocalDate> dates = new TreeSet<>();
+            accepted.forEach(i -> dates.add(items.get(i).date()));
 
-                booking.setStatus(BookingStatus.CREATED);
-                bookingRepository.save(booking);
+            // Counted afresh by each attempt, so only the one that committed
+            // is recorded.
+            ScanCounts scanned = withClaimRetry(dates, () -> {
+                ScanCounts attempt = new ScanCounts();
+                createAll(items, accepted, dates, results, attempt);
+                return attempt;
+            });
 
-                return new BookingResponseDto(
-                        booking.getId(),
-                        booking.getDate(),
-                        booking.getStartTime(),
-                        booking.getEndTime(),
-                        vehicle.getId(),
-                        vehicle.getName(),
-                        assigned.stream()
-                                .map(c ->
-                                        new CleanerDto(
-                                                c.getId(),
-                                                c.getName()
-                                        )
-                                )
-                                .toList()
-                );
-            }
+            serviceMetrics.considered(BOOKING, "batch", scanned);
         }
 
-        throw new IllegalStateException(
-                "Not enough cleaners available for the requested time"
+        int created = (int) Arrays.stream(results)
+                .filter(r -> r.booking() != null)
+                .count();
+
+        return new BatchBookingResponseDto(
+                created,
+                results.length - created,
+                List.of(results)
         );
     }
 
-    @Transactional
-    public void cancelBooking(Long bookingId) {
-
-        Booking booking = bookingRepository.findById(bookingId)
+    private void cancel(Long bookingId) {
+        Booking booking = bookingRepository.findWithAssignmentsById(bookingId)
                 .orElseThrow(() ->
                         new EntityNotFoundException(
                                 "Booking not found: " + bookingId
@@ -157,11 +204,164 @@ public class BookingService {
         }
 
         booking.cancel();
+        dayVersions.changed(booking.getDate());
     }
 
-    @Transactional
-    public BookingResponseDto rescheduleBooking(Long bookingId, BookingRescheduleRequestDto request) {
-        Booking booking = bookingRepository.findById(bookingId)
+    private BookingResponseDto create(BookingRequestDto request) {
+
+        serviceMetrics.phase(BOOKING, "create", "validate", () -> validateCreate(request));
+
+        LocalDate date = request.date();
+        LocalTime startTime = request.startTime();
+        LocalTime endTime = startTime.plusMinutes(request.durationMinutes());
+
+        Roster roster = serviceMetrics.phase(BOOKING, "create", "roster", rosterCache::roster);
+
+        if (roster.isEmpty()) {
+            throw new IllegalStateException("No cleaners configured");
+        }
+
+        serviceMetrics.phase(BOOKING, "create", "occupancy", () -> occupancyIndex.day(date));
+
+        Demand demand = new Demand(
+                date,
+                startTime,
+                endTime,
+                request.cleanerCount(),
+                null,
+                new ScanCounts()
+        );
+
+        Allocation allocation = allocate(
+                "create",
+                "Not enough cleaners available for the requested time",
+                roster,
+                demand
+        );
+
+        Booking booking = new Booking(
+                date,
+                startTime,
+                endTime,
+                vehicleRepository.getReferenceById(
+                        roster.vehicleId(allocation.vehicle())
+                )
+        );
+
+        serviceMetrics.phase(BOOKING, "create", "persist", () -> {
+            assignCleaners(booking, roster, allocation);
+
+            booking.setStatus(BookingStatus.CREATED);
+            bookingRepository.saveAndFlush(booking);
+        });
+        dayVersions.changed(date);
+
+        return serviceMetrics.phase(BOOKING, "create", "map", () ->
+                toResponse(booking, roster, allocation)
+        );
+    }
+
+    private void createAll(
+            List<BookingRequestDto> items,
+            List<Integer> order,
+            Set<LocalDate> dates,
+            BatchBookingResultDto[] results,
+            ScanCounts scanned
+    ) {
+        Roster roster = serviceMetrics.phase(BOOKING, "batch", "roster", rosterCache::roster);
+
+        if (roster.isEmpty()) {
+            order.forEach(i ->
+                    results[i] = failed(i, HttpStatus.CONFLICT, "No cleaners configured")
+            );
+            return;
+        }
+
+        long[] vehicleIds = IntStream.range(0, roster.vehicleCount())
+                .mapToLong(roster::vehicleId)
+                .toArray();
+
+        allocationLocks.claimAll(dates, vehicleIds, () -> {
+            Map<LocalDate, DayOccupancy> days =
+                    serviceMetrics.phase(BOOKING, "batch", "occupancy", () -> occupancyIndex.days(dates));
+            Map<LocalDate, PendingClaims> pending = new HashMap<>();
+            SlotGrid grid = SlotGrid.of(schedulingConfig);
+            AllocationStrategy strategy = strategy();
+
+            for (int i : order) {
+                BookingRequestDto item = items.get(i);
+
+                LocalDate date = item.date();
+                LocalTime startTime = item.startTime();
+                LocalTime endTime = startTime.plusMinutes(item.durationMinutes());
+                int firstSlot = grid.firstSlot(startTime);
+                int endSlot = grid.endSlot(endTime);
+
+                DayOccupancy occupancy = days.get(date);
+                PendingClaims claims = pending.computeIfAbsent(date, d -> new PendingClaims());
+
+                Optional<Allocation> allocation = best(
+                        IntStream.range(0, roster.vehicleCount())
+                                .filter(vehicle ->
+                                        occupancy.mayFit(roster, vehicle, startTime, endTime, item.cleanerCount())
+                                )
+                                .mapToObj(vehicle ->
+                                        fit(roster, vehicle, item.cleanerCount(),
+                                                cleanerId -> scanned.checked(
+                                                        occupancy.isFree(cleanerId, startTime, endTime)
+                                                                && claims.isFree(cleanerId, firstSlot, endSlot)
+                                                ),
+                                                scorer(strategy, occupancy, startTime, endTime)
+                                        )
+                                )
+                                .flatMap(Optional::stream),
+                        strategy
+                );
+
+                if (allocation.isEmpty()) {
+                    results[i] = failed(
+                            i,
+                            HttpStatus.CONFLICT,
+                            "Not enough cleaners available for the requested time"
+                    );
+                    continue;
+                }
+
+                for (int cleaner : allocation.get().cleaners()) {
+                    claims.add(roster.cleanerId(cleaner), firstSlot, endSlot);
+                }
+
+                Booking booking = new Booking(
+                        date,
+                        startTime,
+                        endTime,
+                        vehicleRepository.getReferenceById(
+                                roster.vehicleId(allocation.get().vehicle())
+                        )
+                );
+
+                assignCleaners(booking, roster, allocation.get());
+
+                booking.setStatus(BookingStatus.CREATED);
+                bookingRepository.save(booking);
+
+                results[i] = new BatchBookingResultDto(
+                        i,
+                        HttpStatus.CREATED.value(),
+                        toResponse(booking, roster, allocation.get()),
+                        null
+                );
+            }
+
+            return null;
+        });
+
+        serviceMetrics.phase(BOOKING, "batch", "persist", bookingRepository::flush);
+        dayVersions.changed(dates);
+    }
+
+    private BookingResponseDto reschedule(Long bookingId, BookingRescheduleRequestDto request) {
+        Booking booking = bookingRepository.findWithAssignmentsById(bookingId)
                 .orElseThrow(() ->
                         new EntityNotFoundException(
                                 "Booking not found: " + bookingId
@@ -184,93 +384,462 @@ public class BookingService {
             );
         }
 
-        validateReschedule(booking, request);
+        serviceMetrics.phase(BOOKING, "reschedule", "validate", () ->
+                validateReschedule(booking, request)
+        );
 
         LocalDate date = request.date();
         LocalTime startTime = request.startTime();
         LocalTime endTime = request.startTime().plusMinutes(booking.getDurationMinutes());
 
-        LocalTime startWithBuffer =
-                startTime.minusMinutes(schedulingConfig.breakMinutes());
-        LocalTime endWithBuffer =
-                endTime.plusMinutes(schedulingConfig.breakMinutes());
+        Roster roster = serviceMetrics.phase(BOOKING, "reschedule", "roster", rosterCache::roster);
 
-        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
-
-        if (cleaners.isEmpty()) {
+        if (roster.isEmpty()) {
             throw new IllegalStateException("No cleaners configured");
         }
 
-        List<BookingCleaner> conflicts =
-                bookingCleanerRepository
-                        .findConflictsExcludingBooking(
-                                booking.getId(),
-                                cleaners,
-                                date,
-                                startWithBuffer,
-                                endWithBuffer
-                        );
-
-        Map<Cleaner, List<BookingCleaner>> conflictsByCleaner =
-                conflicts.stream()
-                        .collect(Collectors.groupingBy(
-                                BookingCleaner::getCleaner
-                        ));
-
-        Map<Long, List<Cleaner>> cleanersByVehicle =
-                cleaners.stream()
-                        .collect(Collectors.groupingBy(
-                                c -> c.getVehicle().getId()
-                        ));
-
-        for (List<Cleaner> vehicleCleaners : cleanersByVehicle.values()) {
-            List<Cleaner> available =
-                    vehicleCleaners.stream()
-                            .filter(c ->
-                                    conflictsByCleaner
-                                            .getOrDefault(c, List.of())
-                                            .isEmpty()
+        Demand demand = new Demand(
+                date,
+                startTime,
+                endTime,
+                booking.getCleanerCount(),
+                booking.getId(),
+                new ScanCounts()
+        );
+
+        Allocation allocation = allocate(
+                "reschedule",
+                "Not enough cleaners available for the requested update",
+                roster,
+                demand
+        );
+
+        LocalDate previousDate = booking.getDate();
+
+        booking.setDate(date);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setVehicle(
+                vehicleRepository.getReferenceById(
+                        roster.vehicleId(allocation.vehicle())
+                )
+        );
+
+        serviceMetrics.phase(BOOKING, "reschedule", "persist", () -> {
+            booking.clearCleaners();
+            bookingRepository.flush();
+
+            assignCleaners(booking, roster, allocation);
+
+            bookingRepository.saveAndFlush(booking);
+        });
+        dayVersions.changed(List.of(previousDate, date));
+
+        return serviceMetrics.phase(BOOKING, "reschedule", "map", () ->
+                toResponse(booking, roster, allocation)
+        );
+    }
+
+    // Times the allocation and records the cleaners it checked; a failed one
+    // comes back with alternatives, whose search is timed on its own.
+    private Allocation allocate(String operation, String failure, Roster roster, Demand demand) {
+        Optional<Allocation> allocation =
+                serviceMetrics.phase(BOOKING, operation, "allocate", () -> allocate(roster, demand));
+
+        serviceMetrics.considered(BOOKING, operation, demand.scanned());
+
+        return allocation.orElseThrow(() ->
+                new NoCapacityException(
+                        failure,
+                        serviceMetrics.phase(BOOKING, operation, "alternatives", () ->
+                                alternatives(roster, demand)
+                        )
+                )
+        );
+    }
+
+    // With vehicle locks the scan runs unlocked and the candidate vehicles are
+    // re-checked under their stripe, best first; otherwise the whole scan
+    // holds the date.
+    private Optional<Allocation> allocate(Roster roster, Demand demand) {
+        AllocationStrategy strategy = strategy();
+
+        if (!allocationLocks.vehicleLocks()) {
+            return allocationLocks.claim(demand.date(), () ->
+                    best(
+                            candidates(roster, occupancyIndex.day(demand.date()), demand, strategy),
+                            strategy
+                    )
+            );
+        }
+
+        DayOccupancy snapshot = occupancyIndex.day(demand.date());
+        Iterator<Allocation> candidates =
+                ranked(candidates(roster, snapshot, demand, strategy), strategy).iterator();
+
+        while (candidates.hasNext()) {
+            int candidate = candidates.next().vehicle();
+
+            Optional<Allocation> claimed =
+                    allocationLocks.claim(
+                            demand.date(),
+                            roster.vehicleId(candidate),
+                            () -> fit(
+                                    roster,
+                                    occupancyIndex.day(demand.date()),
+                                    candidate,
+                                    demand.recheck(),
+                                    strategy
                             )
-                            .toList();
+                    );
 
-            if (booking.getCleanerCount() <= available.size()) {
+            if (claimed.isPresent()) {
+                return claimed;
+            }
+        }
 
-                Vehicle vehicle = vehicleCleaners.get(0).getVehicle();
+        return Optional.empty();
+    }
 
-                booking.setDate(date);
-                booking.setStartTime(startTime);
-                booking.setEndTime(endTime);
-                booking.setVehicle(vehicle);
+    private Stream<Allocation> candidates(
+            Roster roster,
+            DayOccupancy occupancy,
+            Demand demand,
+            AllocationStrategy strategy
+    ) {
+        return IntStream.range(0, roster.vehicleCount())
+                .mapToObj(vehicle -> fit(roster, occupancy, vehicle, demand, strategy))
+                .flatMap(Optional::stream);
+    }
 
-                List<Cleaner> assigned =
-                        available.subList(0, booking.getCleanerCount());
+    // Sorting is stable, so vehicles with equal scores keep roster order.
+    private static Stream<Allocation> ranked(Stream<Allocation> candidates, AllocationStrategy strategy) {
+        return strategy.firstFit()
+                ? candidates
+                : candidates.sorted(Comparator.comparingLong(Allocation::score));
+    }
 
-                booking.clearCleaners();
-                bookingRepository.flush();
+    private static Optional<Allocation> best(Stream<Allocation> candidates, AllocationStrategy strategy) {
+        return strategy.firstFit()
+                ? candidates.findFirst()
+                : candidates.min(Comparator.comparingLong(Allocation::score));
+    }
 
-                assigned.forEach(booking::assignCleaner);
+    private AllocationStrategy strategy() {
+        return schedulingConfig.allocation().strategy().strategy();
+    }
 
-                bookingRepository.save(booking);
+    private static LongUnaryOperator scorer(
+            AllocationStrategy strategy,
+            DayOccupancy occupancy,
+            LocalTime start,
+            LocalTime end
+    ) {
+        return strategy.firstFit()
+                ? null
+                : cleanerId -> strategy.score(occupancy.fit(cleanerId, start, end));
+    }
 
-                return new BookingResponseDto(
-                        booking.getId(),
-                        booking.getDate(),
-                        booking.getStartTime(),
-                        booking.getEndTime(),
-                        vehicle.getId(),
-                        vehicle.getName(),
-                        assigned.stream()
-                                .map(c ->
-                                        new CleanerDto(
-                                                c.getId(),
-                                                c.getName()
-                                        )
-                                )
-                                .toList()
-                );
+    // The requested date is scanned on the occupancy the rejection was based
+    // on, already held. The working days after it are then revalidated and
+    // loaded together, at most two queries, and that load counts against the
+    // same budget as the scan, app.allocation.alternatives-budget, which
+    // stops once the budget is spent.
+    private List<SlotOptionDto> alternatives(Roster roster, Demand demand) {
+        long deadline = System.nanoTime() + schedulingConfig.allocation().alternativesBudget().toNanos();
+
+        int requested = demand.start().toSecondOfDay();
+        int step = SlotGrid.of(schedulingConfig).slotSeconds();
+        int reach = Math.max(
+                requested - schedulingConfig.workingHours().start().toSecondOfDay(),
+                schedulingConfig.workingHours().end().toSecondOfDay() - requested
+        );
+        LocalDateTime now = timeProvider.now().toLocalDateTime();
+
+        List<SlotOptionDto> alternatives = new ArrayList<>();
+        DayOccupancy sameDay = occupancyIndex.day(demand.date());
+
+        for (int offset = step;
+             alternatives.size() < SAME_DAY_ALTERNATIVES
+                     && offset <= reach
+                     && System.nanoTime() < deadline;
+             offset += step) {
+
+            for (int second : new int[] {requested - offset, requested + offset}) {
+                if (alternatives.size() < SAME_DAY_ALTERNATIVES) {
+                    option(roster, sameDay, demand, second, now)
+                            .ifPresent(alternatives::add);
+                }
+            }
+        }
+
+        List<LocalDate> dates = new ArrayList<>();
+
+        for (LocalDate date = demand.date().plusDays(1);
+             date.isBefore(demand.date().plusDays(1 + NEXT_DAY_SCAN_DAYS));
+             date = date.plusDays(1)) {
+
+            if (schedulingConfig.isWorkingDay(date.getDayOfWeek())) {
+                dates.add(date);
+            }
+        }
+
+        Map<LocalDate, DayOccupancy> days = System.nanoTime() < deadline
+                ? occupancyIndex.days(dayVersions.versions(dates))
+                : Map.of();
+        int nextDays = 0;
+
+        for (LocalDate date : dates) {
+            if (nextDays >= NEXT_DAY_ALTERNATIVES || System.nanoTime() >= deadline) {
+                break;
+            }
+
+            DayOccupancy day = days.get(date);
+            Optional<SlotOptionDto> nearest = Optional.empty();
+
+            for (int offset = 0;
+                 nearest.isEmpty() && offset <= reach && System.nanoTime() < deadline;
+                 offset += step) {
+
+                nearest = option(roster, day, demand, requested - offset, now);
+
+                if (nearest.isEmpty() && offset > 0) {
+                    nearest = option(roster, day, demand, requested + offset, now);
+                }
+            }
+
+            if (nearest.isPresent()) {
+                alternatives.add(nearest.get());
+                nextDays++;
+            }
+        }
+
+        alternatives.sort(Comparator
+                .comparing(SlotOptionDto::date)
+                .thenComparing(SlotOptionDto::startTime));
+
+        return alternatives;
+    }
+
+    private Optional<SlotOptionDto> option(
+            Roster roster,
+            DayOccupancy occupancy,
+            Demand demand,
+            int second,
+            LocalDateTime now
+    ) {
+        long duration = Duration.between(demand.start(), demand.end()).toSeconds();
+        int dayStart = schedulingConfig.workingHours().start().toSecondOfDay();
+        int dayEnd = schedulingConfig.workingHours().end().toSecondOfDay();
+
+        if (second < dayStart || second + duration > dayEnd) {
+            return Optional.empty();
+        }
+
+        LocalTime start = LocalTime.ofSecondOfDay(second);
+
+        if (!LocalDateTime.of(occupancy.date(), start).isAfter(now)) {
+            return Optional.empty();
+        }
+
+        Demand moved = new Demand(
+                occupancy.date(),
+                start,
+                start.plusSeconds(duration),
+                demand.cleanerCount(),
+                demand.excludedBookingId(),
+                demand.scanned()
+        );
+
+        for (int vehicle = 0; vehicle < roster.vehicleCount(); vehicle++) {
+            if (fit(roster, occupancy, vehicle, moved).isPresent()) {
+                return Optional.of(new SlotOptionDto(
+                        moved.date(),
+                        moved.start(),
+                        moved.end(),
+                        roster.vehicleId(vehicle),
+                        roster.vehicleName(vehicle)
+                ));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Allocation> fit(
+            Roster roster,
+            DayOccupancy occupancy,
+            int vehicle,
+            Demand demand
+    ) {
+        return fit(roster, occupancy, vehicle, demand, FIRST_FIT);
+    }
+
+    private Optional<Allocation> fit(
+            Roster roster,
+            DayOccupancy occupancy,
+            int vehicle,
+            Demand demand,
+            AllocationStrategy strategy
+    ) {
+        if (demand.excludedBookingId() == null
+                && !occupancy.mayFit(roster, vehicle, demand.start(), demand.end(), demand.cleanerCount())) {
+            return Optional.empty();
+        }
+
+        return fit(roster, vehicle, demand.cleanerCount(),
+                cleanerId -> demand.scanned().checked(
+                        occupancy.isFree(
+                                cleanerId,
+                                demand.start(),
+                                demand.end(),
+                                demand.excludedBookingId()
+                        )
+                ),
+                scorer(strategy, occupancy, demand.start(), demand.end())
+        );
+    }
+
+    // Without a scorer the first free cleaners are taken; with one, the
+    // lowest-scored ones, kept sorted in a small insertion buffer.
+    private Optional<Allocation> fit(
+            Roster roster,
+            int vehicle,
+            int cleanerCount,
+            LongPredicate isFree,
+            LongUnaryOperator scorer
+    ) {
+        if (scorer == null) {
+            int[] available =
+                    IntStream.range(
+                                    roster.firstCleaner(vehicle),
+                                    roster.endCleaner(vehicle)
+                            )
+                            .filter(c -> isFree.test(roster.cleanerId(c)))
+                            .limit(cleanerCount)
+                            .toArray();
+
+            return available.length == cleanerCount
+                    ? Optional.of(new Allocation(vehicle, available, 0))
+                    : Optional.empty();
+        }
+
+        int[] chosen = new int[cleanerCount];
+        long[] scores = new long[cleanerCount];
+        int size = 0;
+
+        for (int cleaner = roster.firstCleaner(vehicle); cleaner < roster.endCleaner(vehicle); cleaner++) {
+            long cleanerId = roster.cleanerId(cleaner);
+
+            if (!isFree.test(cleanerId)) {
+                continue;
             }
+
+            long score = scorer.applyAsLong(cleanerId);
+
+            if (size == cleanerCount && score >= scores[size - 1]) {
+                continue;
+            }
+
+            int i = size < cleanerCount ? size++ : size - 1;
+
+            while (i > 0 && scores[i - 1] > score) {
+                chosen[i] = chosen[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+
+            chosen[i] = cleaner;
+            scores[i] = score;
+        }
+
+        if (size < cleanerCount) {
+            return Optional.empty();
+        }
+
+        Arrays.sort(chosen);
+
+        return Optional.of(new Allocation(vehicle, chosen, Arrays.stream(scores).sum()));
+    }
+
+    // Each attempt runs in its own transaction. A claim conflict means an
+    // overlapping booking was committed elsewhere after the occupancy day was
+    // loaded, so the day is reloaded and the allocation runs again.
+    private <T> T withClaimRetry(Collection<LocalDate> dates, Supplier<T> attempt) {
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+
+        for (int i = 1; ; i++) {
+            try {
+                return transactionOperations.execute(status -> attempt.get());
+            } catch (DataIntegrityViolationException e) {
+                if (!isClaimConflict(e)) {
+                    throw e;
+                }
+
+                dates.forEach(occupancyIndex::evict);
+
+                if (joined || i == CLAIM_ATTEMPTS) {
+                    throw new IllegalStateException(
+                            "Cleaners were booked concurrently, please retry", e
+                    );
+                }
+            }
+        }
+    }
+
+    // Two first changes of a date racing to create its version row are
+    // retried the same way.
+    private static boolean isClaimConflict(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+
+        if (message == null) {
+            return false;
+        }
+
+        String lower = message.toLowerCase(Locale.ROOT);
+
+        return lower.contains(BookingCleanerSlot.CLAIM_CONSTRAINT)
+                || lower.contains(DayVersion.TABLE);
+    }
+
+    private void assignCleaners(Booking booking, Roster roster, Allocation allocation) {
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+
+        for (int cleaner : allocation.cleaners()) {
+            booking.assignCleaner(
+                    cleanerRepository.getReferenceById(roster.cleanerId(cleaner))
+            ).claim(
+                    grid.firstSlot(booking.getStartTime()),
+                    grid.endSlot(booking.getEndTime())
+            );
         }
-        throw new IllegalStateException("Not enough cleaners available for the requested update");
+    }
+
+    private static BatchBookingResultDto failed(int index, HttpStatus status, String message) {
+        return new BatchBookingResultDto(index, status.value(), null, message);
+    }
+
+    private BookingResponseDto toResponse(
+            Booking booking,
+            Roster roster,
+            Allocation allocation
+    ) {
+        return new BookingResponseDto(
+                booking.getId(),
+                booking.getDate(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                roster.vehicleId(allocation.vehicle()),
+                roster.vehicleName(allocation.vehicle()),
+                Arrays.stream(allocation.cleaners())
+                        .mapToObj(c ->
+                                new CleanerDto(
+                                        roster.cleanerId(c),
+                                        roster.cleanerName(c)
+                                )
+                        )
+                        .toList()
+        );
     }
 
     private void validateCreate(BookingRequestDto request) {
@@ -343,6 +912,8 @@ public class BookingService {
                         .isAfter(schedulingConfig.workingHours().end())) {
                     throw new IllegalArgumentException("After working hours");
                 }
+
+                validateAlignment(startTime, durationMinutes);
             }
         }
 
@@ -352,4 +923,61 @@ public class BookingService {
             throw new IllegalArgumentException("Cleaner count must be between 1 and " + schedulingConfig.defaults().maxCleanerPerVehicle());
         }
     }
-}
\ No newline at end of file
+
+    // Claims are whole slots, so only aligned requests get exactly the break
+    // the rules ask for; see SlotGrid.
+    private void validateAlignment(LocalTime startTime, Integer durationMinutes) {
+        SlotGrid grid = SlotGrid.of(schedulingConfig);
+
+        if (!grid.isAligned(startTime)) {
+            throw new IllegalArgumentException(
+                    "Start time must be on a " + grid.slotMinutes() + "-minute boundary"
+            );
+        }
+
+        if (durationMinutes != null && !grid.isWholeSlots(durationMinutes)) {
+            throw new IllegalArgumentException(
+                    "Duration must be a multiple of " + grid.slotMinutes() + " minutes"
+            );
+        }
+    }
+
+    private record Demand(
+            LocalDate date,
+            LocalTime start,
+            LocalTime end,
+            int cleanerCount,
+            Long excludedBookingId,
+            ScanCounts scanned
+    ) {
+
+        // The same demand, for checking again cleaners that were already counted.
+        Demand recheck() {
+            return new Demand(date, start, end, cleanerCount, excludedBookingId, new ScanCounts());
+        }
+    }
+
+    private record Allocation(int vehicle, int[] cleaners, long score) {}
+
+    // Slots claimed earlier in the same batch, which the occupancy index only
+    // sees once the batch is flushed.
+    private static final class PendingClaims {
+
+        private final Map<Long, List<int[]>> claims = new HashMap<>();
+
+        boolean isFree(long cleanerId, int firstSlot, int endSlot) {
+            for (int[] claim : claims.getOrDefault(cleanerId, List.of())) {
+                if (claim[0] < endSlot && firstSlot < claim[1]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        void add(long cleanerId, int firstSlot, int endSlot) {
+            claims.computeIfAbsent(cleanerId, id -> new ArrayList<>())
+                    .add(new int[]{firstSlot, endSlot});
+        }
+    }
+}
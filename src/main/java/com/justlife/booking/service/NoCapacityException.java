@@ -0,0 +1,21 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.dto.SlotOptionDto;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when no vehicle has enough free cleaners for the requested time,
+ * carrying the nearest start times that would have fitted.
+ */
+@Getter
+public class NoCapacityException extends IllegalStateException {
+
+    private final List<SlotOptionDto> alternatives;
+
+    public NoCapacityException(String message, List<SlotOptionDto> alternatives) {
+        super(message);
+        this.alternatives = List.copyOf(alternatives);
+    }
+}
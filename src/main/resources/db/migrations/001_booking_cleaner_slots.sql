@@ -0,0 +1,82 @@
+-- Creates the slot claims that guard cleaners against double booking and
+-- backfills them for the bookings already made. Run once against an existing
+-- PostgreSQL database before deploying the release that writes claims; the
+-- schema is validated, not created, on startup. Later scripts move the ids to
+-- a pooled sequence.
+--
+-- Each assignment of a booking that is not cancelled claims its cleaner's
+-- slots from floor(start / slot) up to ceil((end + break) / slot), exclusive,
+-- with the default 15 minute slot and 30 minute break (app.occupancy.slot-minutes
+-- and app.break-minutes); change both numbers below if those were overridden.
+--
+-- Bookings made before requests had to be slot-aligned may be closer together
+-- than their rounded claims allow. Such overlaps are reported and nothing is
+-- written; cancel or move the bookings listed and run the script again.
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS booking_cleaner_slots (
+    id                 bigint  GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_cleaner_id bigint  NOT NULL REFERENCES booking_cleaners (id),
+    cleaner_id         bigint  NOT NULL REFERENCES cleaners (id),
+    date               date    NOT NULL,
+    slot_index         integer NOT NULL,
+    CONSTRAINT uk_booking_cleaner_slots_claim UNIQUE (cleaner_id, date, slot_index)
+);
+
+CREATE TEMPORARY TABLE legacy_claims ON COMMIT DROP AS
+SELECT
+    bc.id AS booking_cleaner_id,
+    bc.booking_id,
+    bc.cleaner_id,
+    b.date,
+    generate_series(
+        floor(extract(epoch FROM b.start_time) / (15 * 60))::integer,
+        ceil((extract(epoch FROM b.end_time) + 30 * 60) / (15 * 60))::integer - 1
+    ) AS slot_index
+FROM booking_cleaners bc
+JOIN bookings b ON b.id = bc.booking_id
+WHERE b.status <> 'CANCELLED'
+  AND NOT EXISTS (
+      SELECT 1 FROM booking_cleaner_slots s WHERE s.booking_cleaner_id = bc.id
+  );
+
+DO $$
+DECLARE
+    clashes integer;
+    report  text;
+BEGIN
+    WITH claims AS (
+        SELECT booking_id, cleaner_id, date, slot_index
+        FROM legacy_claims
+        UNION ALL
+        SELECT bc.booking_id, s.cleaner_id, s.date, s.slot_index
+        FROM booking_cleaner_slots s
+        JOIN booking_cleaners bc ON bc.id = s.booking_cleaner_id
+    ),
+    overlaps AS (
+        SELECT DISTINCT
+            cleaner_id,
+            date,
+            string_agg(booking_id::text, ', ' ORDER BY booking_id) AS bookings
+        FROM claims
+        GROUP BY cleaner_id, date, slot_index
+        HAVING count(*) > 1
+    )
+    SELECT
+        count(*),
+        string_agg(format('cleaner %s on %s: bookings %s', cleaner_id, date, bookings), E'\n')
+    INTO clashes, report
+    FROM overlaps;
+
+    IF clashes > 0 THEN
+        RAISE EXCEPTION '% legacy booking overlap(s) once rounded to whole slots', clashes
+            USING DETAIL = report,
+                  HINT = 'Cancel or move the bookings listed, then run the script again.';
+    END IF;
+END $$;
+
+INSERT INTO booking_cleaner_slots (booking_cleaner_id, cleaner_id, date, slot_index)
+SELECT booking_cleaner_id, cleaner_id, date, slot_index
+FROM legacy_claims;
+
+COMMIT;
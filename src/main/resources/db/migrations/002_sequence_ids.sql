@@ -0,0 +1,29 @@
+-- Moves entity ids from IDENTITY columns to pooled sequences (allocation size 50).
+-- Run once against an existing PostgreSQL database before deploying; on a new
+-- database Hibernate creates the sequences itself.
+--
+-- Hibernate's pooled optimizer hands out [value - 49, value] for each value it
+-- reads, so every sequence restarts 50 above the highest existing id.
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'vehicles',
+        'cleaners',
+        'bookings',
+        'booking_cleaners',
+        'booking_cleaner_slots'
+    ]
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format(
+                'SELECT setval(%L, COALESCE(MAX(id), 0) + 50, false) FROM %I',
+                t || '_seq',
+                t
+            );
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,17 @@
+-- Slot claims are written ten or more per assignment, so their ids are pooled
+-- 500 at a time. Run once against an existing PostgreSQL database together
+-- with the deployment that raises the allocation size.
+--
+-- Hibernate's pooled optimizer hands out [value - 499, value] for each value
+-- it reads, so the sequence restarts 500 above both the highest id and the
+-- last value the 50-id pool read.
+ALTER SEQUENCE booking_cleaner_slots_seq INCREMENT BY 500;
+
+SELECT setval(
+    'booking_cleaner_slots_seq',
+    GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM booking_cleaner_slots),
+        (SELECT last_value FROM booking_cleaner_slots_seq)
+    ) + 500,
+    false
+);
@@ -0,0 +1,7 @@
+-- Per-date booking versions, which the availability caches and ETags are keyed
+-- by. Run once against an existing PostgreSQL database before deploying; rows
+-- are created by the first booking change on each date.
+CREATE TABLE IF NOT EXISTS booking_day_versions (
+    date    date   NOT NULL PRIMARY KEY,
+    version bigint NOT NULL
+);
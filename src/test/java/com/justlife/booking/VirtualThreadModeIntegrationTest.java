@@ -0,0 +1,56 @@
+package com.justlife.booking;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true"
+)
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class VirtualThreadModeIntegrationTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void shouldHandleRequestsOnVirtualThreads() {
+        TomcatWebServer server = (TomcatWebServer) context.getWebServer();
+
+        assertInstanceOf(
+                VirtualThreadExecutor.class,
+                server.getTomcat().getConnector().getProtocolHandler().getExecutor()
+        );
+    }
+
+    @Test
+    void shouldRunStreamedAndBackgroundWorkOnVirtualThreads() throws Exception {
+        boolean virtual = applicationTaskExecutor
+                .submit(() -> Thread.currentThread().isVirtual())
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(virtual);
+    }
+}
@@ -0,0 +1,84 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.config.TestSchedulingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocationLocksTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+
+    private AllocationLocks locks;
+
+    @BeforeEach
+    void setUp() {
+        locks = new AllocationLocks(TestSchedulingConfig.defaultConfig());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldHoldStripeUntilTransactionCompletes() {
+        Optional<String> claimed = locks.claim(DATE, 1L, () -> Optional.of("V1"));
+
+        ReentrantLock stripe = locks.stripe(DATE, 1L);
+
+        assertEquals(Optional.of("V1"), claimed);
+        assertTrue(stripe.isHeldByCurrentThread());
+        assertFalse(tryLockElsewhere(stripe));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(stripe.isLocked());
+    }
+
+    @Test
+    void shouldReleaseStripeWhenNothingWasAllocated() {
+        Optional<String> claimed = locks.claim(DATE, 1L, Optional::empty);
+
+        assertTrue(claimed.isEmpty());
+        assertFalse(locks.stripe(DATE, 1L).isLocked());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void shouldLeaveOtherDatesAndVehiclesUnlocked() {
+        locks.claim(DATE, 1L, () -> Optional.of("V1"));
+
+        ReentrantLock otherVehicle = locks.stripe(DATE, 2L);
+        ReentrantLock otherDate = locks.stripe(DATE.plusDays(1), 1L);
+
+        assertNotSame(locks.stripe(DATE, 1L), otherVehicle);
+        assertNotSame(locks.stripe(DATE, 1L), otherDate);
+        assertTrue(tryLockElsewhere(otherVehicle));
+        assertTrue(tryLockElsewhere(otherDate));
+    }
+
+    private static boolean tryLockElsewhere(ReentrantLock lock) {
+        return CompletableFuture.supplyAsync(() -> {
+            boolean acquired = lock.tryLock();
+            if (acquired) {
+                lock.unlock();
+            }
+            return acquired;
+        }).join();
+    }
+}
@@ -0,0 +1,42 @@
+package com.justlife.booking.allocation;
+
+import com.justlife.booking.occupancy.SlotFit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocationStrategyTest {
+
+    @Test
+    void bestFitShouldPreferTheTightestGap() {
+        AllocationStrategy bestFit = AllocationStrategyType.BEST_FIT.strategy();
+
+        long exact = bestFit.score(new SlotFit(0, 0, 8, 20));
+        long tight = bestFit.score(new SlotFit(0, 10, 8, 20));
+        long open = bestFit.score(new SlotFit(10, 30, 8, 0));
+
+        assertEquals(0, exact);
+        assertTrue(tight < open);
+    }
+
+    @Test
+    void bestFitShouldAvoidLeavingGapsTooShortToUse() {
+        AllocationStrategy bestFit = AllocationStrategyType.BEST_FIT.strategy();
+
+        long sliver = bestFit.score(new SlotFit(2, 0, 8, 20));
+        long roomy = bestFit.score(new SlotFit(0, 40, 8, 0));
+
+        assertTrue(roomy < sliver);
+    }
+
+    @Test
+    void leastLoadedShouldPreferTheIdlerCleaner() {
+        AllocationStrategy leastLoaded = AllocationStrategyType.LEAST_LOADED.strategy();
+
+        assertTrue(
+                leastLoaded.score(new SlotFit(0, 0, 8, 4))
+                        < leastLoaded.score(new SlotFit(20, 30, 8, 12))
+        );
+    }
+}
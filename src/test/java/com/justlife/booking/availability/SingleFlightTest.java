@@ -0,0 +1,166 @@
+package com.justlife.booking.availability;
+
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.config.TestSchedulingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int WAITERS = 8;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldShareOneComputationBetweenConcurrentCallers() throws Exception {
+        SingleFlight flight = singleFlight(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Object result = new Object();
+
+        List<Future<Object>> calls = callConcurrently(flight, "key", () -> {
+            runs.incrementAndGet();
+            await(release);
+            return result;
+        });
+
+        awaitCoalesced(flight, WAITERS - 1);
+        release.countDown();
+
+        for (Future<Object> call : calls) {
+            assertSame(result, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1, flight.executed());
+        assertEquals(WAITERS - 1, flight.coalesced());
+    }
+
+    @Test
+    void shouldPropagateTheFailureToEveryWaiter() throws Exception {
+        SingleFlight flight = singleFlight(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> calls = callConcurrently(flight, "key", () -> {
+            await(release);
+            throw new IllegalArgumentException("Non-working day");
+        });
+
+        awaitCoalesced(flight, WAITERS - 1);
+        release.countDown();
+
+        for (Future<Object> call : calls) {
+            ExecutionException failure =
+                    assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            assertEquals("Non-working day", failure.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void shouldComputeOnItsOwnAfterTheTimeout() throws Exception {
+        SingleFlight flight = singleFlight(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() ->
+                flight.execute("key", () -> {
+                    await(release);
+                    return "shared";
+                })
+        );
+        awaitExecuted(flight, 1);
+
+        assertEquals("own", flight.execute("key", () -> "own"));
+        assertEquals(1, flight.timedOut());
+
+        release.countDown();
+        assertEquals("shared", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentKeysOrSequentialCalls() {
+        SingleFlight flight = singleFlight(Duration.ofSeconds(10));
+
+        assertEquals("a", flight.execute("a", () -> "a"));
+        assertEquals("b", flight.execute("b", () -> "b"));
+        assertEquals("a2", flight.execute("a", () -> "a2"));
+
+        assertEquals(3, flight.executed());
+        assertEquals(0, flight.coalesced());
+    }
+
+    private List<Future<Object>> callConcurrently(
+            SingleFlight flight,
+            Object key,
+            Supplier<Object> computation
+    ) throws InterruptedException {
+        List<Future<Object>> calls = new ArrayList<>();
+
+        calls.add(executor.submit(() -> flight.execute(key, computation)));
+        awaitExecuted(flight, 1);
+
+        for (int i = 1; i < WAITERS; i++) {
+            calls.add(executor.submit(() -> flight.execute(key, computation)));
+        }
+
+        return calls;
+    }
+
+    private static SingleFlight singleFlight(Duration timeout) {
+        SchedulingConfig defaults = TestSchedulingConfig.defaultConfig();
+
+        return new SingleFlight(new SchedulingConfig(
+                defaults.timezone(),
+                defaults.workingHours(),
+                defaults.breakMinutes(),
+                defaults.nonWorkingDay(),
+                defaults.defaults(),
+                defaults.occupancy(),
+                defaults.allocation(),
+                new SchedulingConfig.Availability(defaults.availability().cacheSize(), timeout)
+        ));
+    }
+
+    private static void awaitExecuted(SingleFlight flight, long executed) throws InterruptedException {
+        while (flight.executed() < executed) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitCoalesced(SingleFlight flight, long coalesced) throws InterruptedException {
+        while (flight.coalesced() < coalesced) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.justlife.booking.capture;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class CaptureFilterIntegrationTest {
+
+    private static final ZonedDateTime NOW =
+            ZonedDateTime.of(2026, 1, 19, 10, 0, 0, 0, ZoneId.of("Asia/Kolkata"));
+
+    private static final Path FILE = tempFile();
+
+    @DynamicPropertySource
+    static void capture(DynamicPropertyRegistry registry) {
+        registry.add("app.capture.enabled", () -> "true");
+        registry.add("app.capture.file", FILE::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private CaptureFilter captureFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.write(FILE, new byte[0]);
+        when(timeProvider.now()).thenReturn(NOW);
+
+        Vehicle vehicle = new Vehicle("V1");
+        vehicle.addCleaner(new Cleaner("C1"));
+        vehicleRepository.saveAndFlush(vehicle);
+    }
+
+    @Test
+    void shouldRecordTheRequestTheClockAndTheOutcome() throws Exception {
+        String body = "{\"date\":\"2026-01-20\",\"startTime\":\"10:00\",\"durationMinutes\":120,\"cleanerCount\":1}";
+
+        mockMvc.perform(post("/bookings").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/bookings").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/availability/date?date=2026-01-20"))
+                .andExpect(status().isOk());
+
+        List<TrafficRecord> records = records();
+        assertEquals(3, records.size());
+
+        TrafficRecord created = records.get(0);
+        assertEquals("POST /bookings", created.endpoint());
+        assertEquals(NOW.toInstant(), created.now());
+        assertEquals(body, created.body());
+        assertFalse(created.truncated());
+        assertNull(created.batchIds());
+        assertEquals(201, created.status());
+        assertNotNull(created.createdId());
+        assertTrue(created.outcome().startsWith("201 vehicle="), created.outcome());
+
+        TrafficRecord rejected = records.get(1);
+        assertEquals(409, rejected.status());
+        assertNull(rejected.createdId());
+        assertTrue(rejected.outcome().startsWith("409 "), rejected.outcome());
+
+        TrafficRecord daily = records.get(2);
+        assertEquals("GET /availability/date", daily.endpoint());
+        assertEquals("date=2026-01-20", daily.query());
+        assertTrue(daily.outcome().startsWith("200 crc32="), daily.outcome());
+    }
+
+    @Test
+    void shouldRecordTheIdsABatchMade() throws Exception {
+        String booking = "{\"date\":\"2026-01-20\",\"startTime\":\"10:00\",\"durationMinutes\":120,\"cleanerCount\":1}";
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookings\":[" + booking + "," + booking + "]}"))
+                .andExpect(status().isOk());
+
+        TrafficRecord batch = records().get(0);
+        assertNull(batch.createdId());
+        assertEquals(2, batch.batchIds().size());
+        assertNotNull(batch.batchIds().get(0));
+        assertNull(batch.batchIds().get(1));
+    }
+
+    @Test
+    void shouldMarkABodyCutShortAtTheLimit() throws Exception {
+        String booking = "{\"date\":\"2026-01-20\",\"startTime\":\"10:00\",\"durationMinutes\":120,\"cleanerCount\":1}";
+        String body = "{\"bookings\":[" + String.join(",", Collections.nCopies(15_000, booking)) + "]}";
+
+        mockMvc.perform(post("/bookings/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+
+        TrafficRecord batch = records().get(0);
+        assertTrue(batch.truncated());
+        assertEquals(1024 * 1024, batch.body().length());
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldServeRequestsTheCaptureCannotRecord() throws Exception {
+        captureFilter.destroy();
+
+        mockMvc.perform(get("/availability/date?date=2026-01-20"))
+                .andExpect(status().isOk());
+
+        assertEquals(1.0, meterRegistry.counter("capture.dropped").count());
+    }
+
+    @Test
+    void shouldLeaveOtherEndpointsOut() throws Exception {
+        mockMvc.perform(get("/admin/roster")).andExpect(status().isOk());
+
+        assertEquals(List.of(), records());
+    }
+
+    private static List<TrafficRecord> records() {
+        List<TrafficRecord> records = new ArrayList<>();
+        TrafficLog.read(FILE, records::add);
+        return records;
+    }
+
+    private static Path tempFile() {
+        try {
+            Path file = Files.createTempFile("traffic", ".capture");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
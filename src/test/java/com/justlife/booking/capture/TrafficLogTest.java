@@ -0,0 +1,124 @@
+package com.justlife.booking.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrafficLogTest {
+
+    private static final TrafficRecord CREATE = new TrafficRecord(
+            Instant.parse("2026-01-19T04:30:00.123456789Z"),
+            Instant.parse("2026-01-19T04:30:00Z"),
+            "POST",
+            "/bookings",
+            "/bookings",
+            null,
+            "{\"date\":\"2026-01-20\",\"startTime\":\"10:00\",\"durationMinutes\":120,\"cleanerCount\":1}",
+            false,
+            201,
+            1_500_000,
+            7L,
+            "201 vehicle=1 cleaners=3",
+            null
+    );
+
+    private static final TrafficRecord DAILY = new TrafficRecord(
+            Instant.parse("2026-01-19T04:30:01Z"),
+            Instant.parse("2026-01-19T04:30:01Z"),
+            "GET",
+            "/availability/date",
+            "/availability/date",
+            "date=2026-01-20",
+            null,
+            false,
+            200,
+            800_000,
+            null,
+            null,
+            null
+    );
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldReadBackWhatWasAppendedAcrossReopens() throws IOException {
+        Path file = dir.resolve("traffic.capture");
+
+        try (TrafficLog log = TrafficLog.open(file)) {
+            log.append(CREATE);
+        }
+        try (TrafficLog log = TrafficLog.open(file)) {
+            log.append(DAILY);
+        }
+
+        assertEquals(List.of(CREATE, DAILY), read(file));
+    }
+
+    @Test
+    void shouldKeepBodiesLongerThanSixtyFourKilobytes() throws IOException {
+        Path file = dir.resolve("traffic.capture");
+        TrafficRecord large = new TrafficRecord(
+                CREATE.receivedAt(), CREATE.now(), "POST", "/bookings/batch", "/bookings/batch",
+                null, "x".repeat(100_000), true, 200, 1, null, "200 crc32=0", Arrays.asList(8L, null, 9L)
+        );
+
+        try (TrafficLog log = TrafficLog.open(file)) {
+            log.append(large);
+        }
+
+        assertEquals(List.of(large), read(file));
+    }
+
+    @Test
+    void shouldReadRecordsWrittenWithoutTheLaterFields() throws IOException {
+        Path file = dir.resolve("traffic.capture");
+
+        try (TrafficLog log = TrafficLog.open(file)) {
+            log.append(CREATE);
+        }
+
+        // Drops the truncated flag and the batch ids, the last five bytes of
+        // the record, as older captures lack them.
+        ByteBuffer frame = ByteBuffer.wrap(Files.readAllBytes(file));
+        int length = frame.getInt() - 5;
+        ByteBuffer older = ByteBuffer.allocate(Integer.BYTES + length)
+                .putInt(length)
+                .put(frame.array(), Integer.BYTES, length);
+        Files.write(file, older.array(), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertEquals(List.of(CREATE), read(file));
+    }
+
+    @Test
+    void shouldStopAtATruncatedLastRecord() throws IOException {
+        Path file = dir.resolve("traffic.capture");
+
+        try (TrafficLog log = TrafficLog.open(file)) {
+            log.append(CREATE);
+            log.append(DAILY);
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertEquals(List.of(CREATE), read(file));
+    }
+
+    private static List<TrafficRecord> read(Path file) {
+        List<TrafficRecord> records = new ArrayList<>();
+        TrafficLog.read(file, records::add);
+        return records;
+    }
+}
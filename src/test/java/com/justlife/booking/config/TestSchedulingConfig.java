@@ -1,6 +1,9 @@
 package com.justlife.booking.config;
 
+import com.justlife.booking.allocation.AllocationStrategyType;
+
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.ZoneId;
 
@@ -15,7 +18,10 @@ public final class TestSchedulingConfig {
                 ),
                 30,
                 DayOfWeek.FRIDAY,
-                new SchedulingConfig.Defaults(5)
+                new SchedulingConfig.Defaults(5),
+                new SchedulingConfig.Occupancy(15, 120),
+                new SchedulingConfig.Allocation(64, true, AllocationStrategyType.FIRST_FIT, Duration.ofSeconds(1)),
+                new SchedulingConfig.Availability(64, Duration.ofSeconds(2))
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.justlife.booking.controller;
+
+import com.justlife.booking.availability.DailyAvailabilityCache;
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.metrics.SqlStatementFilter;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.service.BookingService;
+import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class AvailabilityControllerIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DailyAvailabilityCache dailyAvailabilityCache;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        now(ZonedDateTime.of(2026, 1, 19, 10, 0, 0, 0, ZONE));
+
+        Vehicle vehicle = new Vehicle("V1");
+        vehicle.addCleaner(new Cleaner("C1"));
+        vehicleRepository.saveAndFlush(vehicle);
+    }
+
+    @Test
+    void shouldAnswerAnUnchangedTagWithNotModified() throws Exception {
+        String etag = daily(DATE);
+        assertNotNull(etag);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        long misses = dailyAvailabilityCache.misses();
+
+        mockMvc.perform(get("/availability/date")
+                        .param("date", DATE.toString())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Only the date version is read.
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(misses, dailyAvailabilityCache.misses());
+    }
+
+    @Test
+    void shouldChangeTheTagWhenABookingChangesTheDate() throws Exception {
+        String before = daily(DATE);
+
+        bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(10, 0), 120, 1)
+        );
+
+        String after = mockMvc.perform(get("/availability/date")
+                        .param("date", DATE.toString())
+                        .header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cleaners[0].timeSlots.length()").value(2))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void shouldChangeTheTagWhenAnotherNodeChangesTheDate() throws Exception {
+        String before = daily(DATE);
+
+        // A booking committed by another node only shows up as its version.
+        entityManager.createNativeQuery(
+                        "INSERT INTO booking_day_versions (date, version) VALUES (?, 1)")
+                .setParameter(1, DATE)
+                .executeUpdate();
+
+        mockMvc.perform(get("/availability/date")
+                        .param("date", DATE.toString())
+                        .header("If-None-Match", before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldChangeTodaysTagAsTheDayStartMoves() throws Exception {
+        now(ZonedDateTime.of(2026, 1, 20, 10, 0, 0, 0, ZONE));
+        String early = daily(DATE);
+
+        now(ZonedDateTime.of(2026, 1, 20, 10, 0, 40, 0, ZONE));
+        assertNotEquals(early, daily(DATE));
+
+        now(ZonedDateTime.of(2026, 1, 20, 10, 0, 50, 0, ZONE));
+        assertEquals(daily(DATE), daily(DATE));
+    }
+
+    @Test
+    void shouldReportTheStatementsOfTheRequest() throws Exception {
+        mockMvc.perform(get("/availability/cleaners")
+                        .param("date", DATE.toString())
+                        .param("startTime", "13:00")
+                        .param("durationMinutes", "60"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.HEADER, "3"));
+    }
+
+    @Test
+    void shouldStreamTheRangeAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/availability/range")
+                        .param("from", "2026-01-20")
+                        .param("to", "2026-01-22"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+    }
+
+    @Test
+    void shouldRejectAnInvertedRangeBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/availability/range")
+                        .param("from", "2026-01-22")
+                        .param("to", "2026-01-20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("End date must not be before start date"));
+    }
+
+    private String daily(LocalDate date) throws Exception {
+        return mockMvc.perform(get("/availability/date").param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+    }
+
+    private void now(ZonedDateTime now) {
+        when(timeProvider.now()).thenReturn(now);
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+}
@@ -0,0 +1,65 @@
+package com.justlife.booking.metrics;
+
+import com.justlife.booking.service.NoCapacityException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ServiceMetrics metrics = new ServiceMetrics(registry);
+
+    @Test
+    void shouldTagRequestsWithTheirOutcome() {
+        metrics.request(ServiceMetrics.BOOKING, "create", () -> "ok");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                metrics.request(ServiceMetrics.BOOKING, "create", () -> {
+                    throw new IllegalArgumentException("Invalid duration");
+                })
+        );
+        assertThrows(NoCapacityException.class, () ->
+                metrics.request(ServiceMetrics.BOOKING, "create", () -> {
+                    throw new NoCapacityException("Not enough cleaners", List.of());
+                })
+        );
+
+        assertEquals(1, requests("success"));
+        assertEquals(1, requests("validation_error"));
+        assertEquals(1, requests("no_capacity"));
+    }
+
+    @Test
+    void shouldMapExceptionsToOutcomes() {
+        assertEquals("not_found", ServiceMetrics.outcome(new EntityNotFoundException("Booking not found: 1")));
+        assertEquals("conflict", ServiceMetrics.outcome(new IllegalStateException("Booking is already cancelled")));
+        assertEquals("error", ServiceMetrics.outcome(new RuntimeException()));
+    }
+
+    @Test
+    void shouldRecordCleanersAndConflictsConsidered() {
+        ScanCounts counts = new ScanCounts();
+        counts.checked(true);
+        counts.checked(false);
+        counts.checked(false);
+
+        metrics.considered(ServiceMetrics.BOOKING, "create", counts);
+
+        assertEquals(3, registry.get("booking.cleaners.considered").summary().totalAmount());
+        assertEquals(2, registry.get("booking.conflicts.considered").summary().totalAmount());
+    }
+
+    private long requests(String outcome) {
+        return registry.get("booking.requests")
+                .tag("operation", "create")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
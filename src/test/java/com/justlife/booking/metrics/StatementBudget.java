@@ -0,0 +1,38 @@
+package com.justlife.booking.metrics;
+
+import org.opentest4j.AssertionFailedError;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a piece of work and fails the test if it prepares more SQL statements
+ * than allowed. Obtained through {@link StatementBudgetExtension}.
+ */
+public final class StatementBudget {
+
+    StatementBudget() {
+    }
+
+    public <T> T atMost(int max, String work, Supplier<T> call) {
+        long start = SqlStatementCounter.current();
+        T result = call.get();
+        long used = SqlStatementCounter.current() - start;
+
+        if (used > max) {
+            throw new AssertionFailedError(
+                    work + " prepared " + used + " statements, budget is " + max,
+                    max,
+                    used
+            );
+        }
+
+        return result;
+    }
+
+    public void atMost(int max, String work, Runnable call) {
+        atMost(max, work, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.justlife.booking.metrics;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Supplies a {@link StatementBudget} to test methods, so a query-count
+ * regression fails the build like any other assertion.
+ */
+public class StatementBudgetExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameter, ExtensionContext context) {
+        return parameter.getParameter().getType() == StatementBudget.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameter, ExtensionContext context) {
+        return new StatementBudget();
+    }
+}
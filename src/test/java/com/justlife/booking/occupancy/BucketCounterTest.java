@@ -0,0 +1,53 @@
+package com.justlife.booking.occupancy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BucketCounterTest {
+
+    @Test
+    void shouldMatchCountingBitByBit() {
+        Random random = new Random(7);
+        int buckets = 100;
+        int masks = 13;
+
+        BucketCounter counter = new BucketCounter(buckets, masks);
+        int[] expected = new int[buckets];
+
+        for (int m = 0; m < masks; m++) {
+            long[] mask = new long[BucketCounter.words(buckets)];
+
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                if (random.nextInt(3) == 0) {
+                    mask[bucket >>> 6] |= 1L << (bucket & 63);
+                    expected[bucket]++;
+                }
+            }
+
+            counter.add(mask);
+        }
+
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            assertEquals(expected[bucket], counter.count(bucket));
+        }
+    }
+
+    @Test
+    void shouldCountEveryMaskUpToTheMaximum() {
+        BucketCounter counter = new BucketCounter(3, 8);
+
+        for (int m = 0; m < 8; m++) {
+            counter.add(new long[] {0b101L});
+        }
+
+        assertEquals(8, counter.count(0));
+        assertEquals(0, counter.count(1));
+        assertEquals(8, counter.count(2));
+
+        counter.clear();
+        assertEquals(0, counter.count(0));
+    }
+}
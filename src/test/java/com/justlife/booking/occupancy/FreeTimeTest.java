@@ -0,0 +1,94 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FreeTimeTest {
+
+    private static final LocalTime DAY_START = LocalTime.of(8, 0);
+    private static final LocalTime DAY_END = LocalTime.of(22, 0);
+
+    @Test
+    void shouldReturnWholeWindowWhenNothingIsBusy() {
+        FreeTime free = FreeTime.sweep(DAY_START, DAY_END, List.of());
+
+        assertEquals(List.of(slot(8, 0, 22, 0)), free.slots());
+    }
+
+    @Test
+    void shouldMergeOverlappingBusyIntervals() {
+        FreeTime free = FreeTime.sweep(DAY_START, DAY_END, List.of(
+                slot(7, 30, 9, 0),
+                slot(10, 0, 12, 0),
+                slot(11, 0, 12, 30),
+                slot(11, 30, 12, 15),
+                slot(21, 30, 22, 30)
+        ));
+
+        assertEquals(
+                List.of(
+                        slot(9, 0, 10, 0),
+                        slot(12, 30, 21, 30)
+                ),
+                free.slots()
+        );
+    }
+
+    @Test
+    void shouldReturnNothingWhenWindowIsEmpty() {
+        FreeTime free = FreeTime.sweep(DAY_END, DAY_END, List.of());
+
+        assertTrue(free.isEmpty());
+        assertTrue(free.largestGap().isEmpty());
+    }
+
+    @Test
+    void shouldAnswerGapQueries() {
+        FreeTime free = FreeTime.sweep(DAY_START, DAY_END, List.of(
+                slot(9, 0, 10, 0),
+                slot(10, 30, 21, 0)
+        ));
+
+        assertEquals(slot(8, 0, 9, 0), free.largestGap().orElseThrow());
+        assertEquals(
+                List.of(slot(8, 0, 9, 0), slot(21, 0, 22, 0)),
+                free.gapsOfAtLeast(60)
+        );
+        assertTrue(free.contains(LocalTime.of(10, 0), LocalTime.of(10, 30)));
+        assertFalse(free.contains(LocalTime.of(10, 0), LocalTime.of(10, 31)));
+    }
+
+    @Test
+    void shouldIntersectCleanersFreeTime() {
+        FreeTime first = FreeTime.sweep(DAY_START, DAY_END, List.of(
+                slot(10, 0, 12, 0)
+        ));
+        FreeTime second = FreeTime.sweep(DAY_START, DAY_END, List.of(
+                slot(8, 0, 9, 0),
+                slot(13, 0, 14, 0)
+        ));
+
+        assertEquals(
+                List.of(
+                        slot(9, 0, 10, 0),
+                        slot(12, 0, 13, 0),
+                        slot(14, 0, 22, 0)
+                ),
+                FreeTime.intersectAll(List.of(first, second)).slots()
+        );
+    }
+
+    private static TimeSlot slot(int startHour, int startMinute, int endHour, int endMinute) {
+        return new TimeSlot(
+                LocalTime.of(startHour, startMinute),
+                LocalTime.of(endHour, endMinute)
+        );
+    }
+}
@@ -0,0 +1,255 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.config.SchedulingConfig;
+import com.justlife.booking.config.TestSchedulingConfig;
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.BookingCleaner;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.repository.BookingCleanerRepository;
+import com.justlife.booking.repository.projection.AssignmentRow;
+import com.justlife.booking.repository.projection.RosterRow;
+import com.justlife.booking.roster.Roster;
+import com.justlife.booking.time.TimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+
+    @Mock
+    private BookingCleanerRepository bookingCleanerRepository;
+
+    @Mock
+    private TimeProvider timeProvider;
+
+    private OccupancyIndex occupancyIndex;
+
+    private Vehicle vehicle;
+
+    private Cleaner cleaner;
+
+    @BeforeEach
+    void setUp() {
+        occupancyIndex = new OccupancyIndex(
+                bookingCleanerRepository,
+                TestSchedulingConfig.defaultConfig(),
+                timeProvider
+        );
+
+        lenient().when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata"))
+        );
+
+        vehicle = new Vehicle("V1");
+        cleaner = new Cleaner("A");
+        ReflectionTestUtils.setField(cleaner, "id", 1L);
+    }
+
+    @Test
+    void shouldApplyBreakBufferAroundAssignments() {
+        assignment(10L, LocalTime.of(10, 0), LocalTime.of(12, 0), true);
+
+        DayOccupancy day = occupancyIndex.day(DATE);
+
+        assertTrue(day.isFree(1L, LocalTime.of(8, 0), LocalTime.of(9, 30)));
+        assertFalse(day.isFree(1L, LocalTime.of(9, 0), LocalTime.of(9, 31)));
+        assertFalse(day.isFree(1L, LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        assertTrue(day.isFree(1L, LocalTime.of(12, 30), LocalTime.of(13, 30)));
+        assertTrue(day.isFree(2L, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void shouldIgnoreExcludedBooking() {
+        assignment(10L, LocalTime.of(10, 0), LocalTime.of(12, 0), true);
+
+        DayOccupancy day = occupancyIndex.day(DATE);
+
+        assertFalse(day.isFree(1L, LocalTime.of(11, 0), LocalTime.of(13, 0)));
+        assertTrue(day.isFree(1L, LocalTime.of(11, 0), LocalTime.of(13, 0), 10L));
+    }
+
+    @Test
+    void shouldLoadEachDateOnce() {
+        when(bookingCleanerRepository.findAssignmentsOnDate(DATE))
+                .thenReturn(List.of());
+
+        DayOccupancy first = occupancyIndex.day(DATE);
+        DayOccupancy second = occupancyIndex.day(DATE);
+
+        assertSame(first, second);
+        verify(bookingCleanerRepository, times(1)).findAssignmentsOnDate(DATE);
+    }
+
+    @Test
+    void shouldReloadADateHeldUnderAnOlderVersion() {
+        when(bookingCleanerRepository.findAssignmentsOnDate(DATE))
+                .thenReturn(List.of());
+
+        occupancyIndex.day(DATE, 1);
+        occupancyIndex.day(DATE, 1);
+        occupancyIndex.day(DATE);
+
+        // Another node booked the date.
+        when(bookingCleanerRepository.findAssignmentsOnDate(DATE))
+                .thenReturn(List.of(new AssignmentRow(10L, 1L, LocalTime.of(10, 0), LocalTime.of(12, 0))));
+
+        DayOccupancy day = occupancyIndex.day(DATE, 2);
+
+        assertFalse(day.isFree(1L, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertSame(day, occupancyIndex.day(DATE, 1));
+        verify(bookingCleanerRepository, times(2)).findAssignmentsOnDate(DATE);
+    }
+
+    @Test
+    void shouldReloadOnlyTheStaleDatesOfARange() {
+        LocalDate next = DATE.plusDays(1);
+        LocalDate after = DATE.plusDays(2);
+
+        occupancyIndex.days(Map.of(DATE, 1L, next, 1L, after, 1L));
+        occupancyIndex.days(Map.of(DATE, 1L, next, 2L, after, 3L));
+
+        verify(bookingCleanerRepository).findAssignmentsOnDates(argThat(dates ->
+                dates.size() == 3));
+        verify(bookingCleanerRepository).findAssignmentsOnDates(argThat(dates ->
+                dates.size() == 2 && dates.containsAll(List.of(next, after))));
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedDateBeyondCapacity() {
+        SchedulingConfig defaults = TestSchedulingConfig.defaultConfig();
+        OccupancyIndex bounded = new OccupancyIndex(
+                bookingCleanerRepository,
+                new SchedulingConfig(
+                        defaults.timezone(),
+                        defaults.workingHours(),
+                        defaults.breakMinutes(),
+                        defaults.nonWorkingDay(),
+                        defaults.defaults(),
+                        new SchedulingConfig.Occupancy(15, 2),
+                        defaults.allocation(),
+                        defaults.availability()
+                ),
+                timeProvider
+        );
+
+        bounded.day(DATE);
+        bounded.day(DATE.plusDays(1));
+        bounded.day(DATE);
+        bounded.day(DATE.plusDays(2));
+
+        bounded.day(DATE);
+        bounded.day(DATE.plusDays(1));
+
+        verify(bookingCleanerRepository, times(1)).findAssignmentsOnDate(DATE);
+        verify(bookingCleanerRepository, times(2)).findAssignmentsOnDate(DATE.plusDays(1));
+    }
+
+    @Test
+    void shouldKeepNeighbourBufferWhenReleasingAssignment() {
+        BookingCleaner first =
+                assignment(10L, LocalTime.of(10, 0), LocalTime.of(11, 0), false);
+        BookingCleaner second =
+                assignment(11L, LocalTime.of(11, 30), LocalTime.of(12, 30), false);
+
+        when(bookingCleanerRepository.findAssignmentsOnDate(DATE))
+                .thenReturn(List.of());
+
+        DayOccupancy day = occupancyIndex.day(DATE);
+
+        occupancyIndex.assigned(first);
+        occupancyIndex.assigned(second);
+        occupancyIndex.released(first);
+
+        assertTrue(day.isFree(1L, LocalTime.of(9, 0), LocalTime.of(10, 30)));
+        assertFalse(day.isFree(1L, LocalTime.of(10, 30), LocalTime.of(11, 15)));
+    }
+
+    @Test
+    void shouldDescribeTheGapAroundAClaim() {
+        assignment(10L, LocalTime.of(10, 0), LocalTime.of(12, 0), true);
+
+        DayOccupancy day = occupancyIndex.day(DATE);
+
+        assertEquals(
+                new SlotFit(2, 30, 6, 10),
+                day.fit(1L, LocalTime.of(13, 0), LocalTime.of(14, 0))
+        );
+        assertEquals(
+                new SlotFit(0, 0, 8, 10),
+                day.fit(1L, LocalTime.of(8, 0), LocalTime.of(9, 30))
+        );
+        assertEquals(
+                new SlotFit(20, 30, 6, 0),
+                day.fit(2L, LocalTime.of(13, 0), LocalTime.of(14, 0))
+        );
+    }
+
+    @Test
+    void shouldKeepFreeCountsInStepWithAssignments() {
+        Roster roster = Roster.of(List.of(
+                new RosterRow(1L, "A", 10L, "V1"),
+                new RosterRow(2L, "B", 10L, "V1")
+        ));
+        BookingCleaner first =
+                assignment(10L, LocalTime.of(10, 0), LocalTime.of(11, 0), true);
+
+        DayOccupancy day = occupancyIndex.day(DATE);
+
+        assertTrue(day.mayFit(roster, 0, LocalTime.of(10, 0), LocalTime.of(11, 0), 1));
+        assertFalse(day.mayFit(roster, 0, LocalTime.of(10, 0), LocalTime.of(11, 0), 2));
+        assertTrue(day.mayFit(roster, 0, LocalTime.of(12, 0), LocalTime.of(13, 0), 2));
+
+        occupancyIndex.released(first);
+
+        assertTrue(day.mayFit(roster, 0, LocalTime.of(10, 0), LocalTime.of(11, 0), 2));
+
+        occupancyIndex.assigned(assignment(11L, LocalTime.of(12, 0), LocalTime.of(12, 30), false));
+
+        assertFalse(day.mayFit(roster, 0, LocalTime.of(11, 45), LocalTime.of(12, 15), 2));
+        assertTrue(day.mayFit(roster, 0, LocalTime.of(8, 0), LocalTime.of(11, 30), 2));
+    }
+
+    private BookingCleaner assignment(
+            Long bookingId,
+            LocalTime start,
+            LocalTime end,
+            boolean persisted
+    ) {
+        Booking booking = new Booking(DATE, start, end, vehicle);
+        ReflectionTestUtils.setField(booking, "id", bookingId);
+
+        BookingCleaner assignment = new BookingCleaner(booking, cleaner);
+
+        if (persisted) {
+            when(bookingCleanerRepository.findAssignmentsOnDate(DATE))
+                    .thenReturn(List.of(new AssignmentRow(bookingId, 1L, start, end)));
+        }
+
+        return assignment;
+    }
+}
@@ -0,0 +1,103 @@
+package com.justlife.booking.occupancy;
+
+import com.justlife.booking.repository.projection.RosterRow;
+import com.justlife.booking.roster.Roster;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VehicleFreeCountsTest {
+
+    private static final int SLOTS = 130;
+    private static final int VEHICLES = 3;
+    private static final int CLEANERS_PER_VEHICLE = 4;
+
+    @Test
+    void shouldMatchCountingSlotBySlotAcrossChanges() {
+        Random random = new Random(11);
+        Roster roster = roster();
+        VehicleFreeCounts counts = new VehicleFreeCounts(roster, SLOTS);
+
+        int cleaners = VEHICLES * CLEANERS_PER_VEHICLE;
+        long[][] busy = new long[cleaners][(SLOTS + 63) >>> 6];
+
+        for (int change = 0; change < 200; change++) {
+            int cleaner = random.nextInt(cleaners);
+            long[] before = busy[cleaner].clone();
+
+            int from = random.nextInt(SLOTS);
+            int to = from + 1 + random.nextInt(SLOTS - from);
+            boolean claim = random.nextBoolean();
+
+            for (int slot = from; slot < to; slot++) {
+                if (claim) {
+                    busy[cleaner][slot >>> 6] |= 1L << (slot & 63);
+                } else {
+                    busy[cleaner][slot >>> 6] &= ~(1L << (slot & 63));
+                }
+            }
+
+            counts.changed(cleaner + 1L, before, busy[cleaner]);
+
+            int vehicle = random.nextInt(VEHICLES);
+            int queryFrom = random.nextInt(SLOTS);
+            int queryTo = queryFrom + 1 + random.nextInt(SLOTS - queryFrom);
+
+            assertEquals(
+                    naiveMinFree(busy, vehicle, queryFrom, queryTo),
+                    counts.minFree(vehicle, queryFrom, queryTo)
+            );
+        }
+    }
+
+    @Test
+    void shouldIgnoreCleanersOutsideTheRoster() {
+        Roster roster = roster();
+        VehicleFreeCounts counts = new VehicleFreeCounts(roster, SLOTS);
+
+        counts.changed(99L, new long[3], new long[]{-1L, -1L, -1L});
+
+        assertEquals(CLEANERS_PER_VEHICLE, counts.minFree(0, 0, SLOTS));
+        assertTrue(counts.isFor(roster));
+        assertFalse(counts.isFor(roster()));
+    }
+
+    private static int naiveMinFree(long[][] busy, int vehicle, int from, int to) {
+        int min = Integer.MAX_VALUE;
+
+        for (int slot = from; slot < to; slot++) {
+            int free = 0;
+
+            for (int c = 0; c < CLEANERS_PER_VEHICLE; c++) {
+                long[] bits = busy[vehicle * CLEANERS_PER_VEHICLE + c];
+
+                if ((bits[slot >>> 6] & (1L << (slot & 63))) == 0) {
+                    free++;
+                }
+            }
+
+            min = Math.min(min, free);
+        }
+
+        return min;
+    }
+
+    private static Roster roster() {
+        List<RosterRow> rows = new ArrayList<>();
+
+        for (int v = 0; v < VEHICLES; v++) {
+            for (int c = 0; c < CLEANERS_PER_VEHICLE; c++) {
+                long id = v * CLEANERS_PER_VEHICLE + c + 1L;
+                rows.add(new RosterRow(id, "C" + id, 100L + v, "V" + v));
+            }
+        }
+
+        return Roster.of(rows);
+    }
+}
@@ -0,0 +1,97 @@
+package com.justlife.booking.roster;
+
+import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.projection.RosterRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RosterCacheTest {
+
+    private static final List<RosterRow> ROWS = List.of(
+            new RosterRow(1L, "C1", 10L, "V1"),
+            new RosterRow(2L, "C2", 10L, "V1")
+    );
+
+    @Mock
+    private CleanerRepository cleanerRepository;
+
+    private RosterCache rosterCache;
+
+    @BeforeEach
+    void setUp() {
+        rosterCache = new RosterCache(cleanerRepository);
+    }
+
+    @Test
+    void shouldLoadOnceAndCountHitsAndMisses() {
+        when(cleanerRepository.findRoster()).thenReturn(ROWS);
+
+        Roster first = rosterCache.roster();
+        Roster second = rosterCache.roster();
+
+        assertSame(first, second);
+        assertEquals(2, first.cleanerCount());
+        assertEquals(1, rosterCache.misses());
+        assertEquals(1, rosterCache.hits());
+        verify(cleanerRepository, times(1)).findRoster();
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        when(cleanerRepository.findRoster()).thenReturn(ROWS);
+
+        rosterCache.roster();
+        rosterCache.invalidate();
+        rosterCache.roster();
+
+        assertEquals(2, rosterCache.misses());
+        verify(cleanerRepository, times(2)).findRoster();
+    }
+
+    @Test
+    void shouldNotCacheALoadThatOverlapsAChange() {
+        when(cleanerRepository.findRoster()).thenAnswer(invocation -> {
+            rosterCache.invalidate();
+            return ROWS;
+        });
+
+        rosterCache.roster();
+
+        assertTrue(rosterCache.cached().isEmpty());
+    }
+
+    @Test
+    void shouldInvalidateAgainWhenTheChangingTransactionCompletes() {
+        when(cleanerRepository.findRoster()).thenReturn(ROWS);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rosterCache.changed();
+            rosterCache.roster();
+
+            assertTrue(rosterCache.cached().isPresent());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(rosterCache.cached().isEmpty());
+    }
+}
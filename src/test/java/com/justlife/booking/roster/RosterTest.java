@@ -0,0 +1,64 @@
+package com.justlife.booking.roster;
+
+import com.justlife.booking.repository.projection.RosterRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RosterTest {
+
+    @Test
+    void shouldGroupCleanersByVehicleInIdOrder() {
+        Roster roster = Roster.of(List.of(
+                row(3L, 20L),
+                row(1L, 10L),
+                row(2L, 20L),
+                row(4L, 10L)
+        ));
+
+        assertEquals(2, roster.vehicleCount());
+        assertEquals(10L, roster.vehicleId(0));
+        assertEquals("V10", roster.vehicleName(0));
+        assertEquals(List.of(1L, 4L), cleanerIds(roster, 0));
+        assertEquals(List.of(2L, 3L), cleanerIds(roster, 1));
+    }
+
+    @Test
+    void shouldResolveIdsToPositions() {
+        List<RosterRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            rows.add(row(id * 31, 7L));
+        }
+
+        Roster roster = Roster.of(rows);
+
+        for (int c = 0; c < roster.cleanerCount(); c++) {
+            assertEquals(c, roster.indexOfCleaner(roster.cleanerId(c)));
+            assertEquals(0, roster.vehicleOf(c));
+        }
+        assertEquals(0, roster.indexOfVehicle(7L));
+        assertEquals(-1, roster.indexOfCleaner(32L));
+        assertEquals(-1, roster.indexOfVehicle(8L));
+    }
+
+    @Test
+    void shouldBeEmptyWithoutCleaners() {
+        assertTrue(Roster.of(List.of()).isEmpty());
+    }
+
+    private static List<Long> cleanerIds(Roster roster, int vehicle) {
+        List<Long> ids = new ArrayList<>();
+        for (int c = roster.firstCleaner(vehicle); c < roster.endCleaner(vehicle); c++) {
+            ids.add(roster.cleanerId(c));
+        }
+        return ids;
+    }
+
+    private static RosterRow row(Long cleanerId, Long vehicleId) {
+        return new RosterRow(cleanerId, "C" + cleanerId, vehicleId, "V" + vehicleId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.justlife.booking.seed;
+
+import com.justlife.booking.config.TestSchedulingConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 19);
+
+    @Test
+    void shouldProduceTheSameBookingsForTheSameSeed() {
+        assertEquals(bookings(42L), bookings(42L));
+        assertFalse(bookings(42L).equals(bookings(43L)));
+    }
+
+    @Test
+    void shouldKeepEveryCleanersBookingsApartByTheBreakWithinWorkingHours() {
+        Map<String, LocalTime> freeFrom = new HashMap<>();
+
+        generator(7L).generate(MONDAY, (date, vehicle, start, end, cleaners) -> {
+            assertTrue(date.getDayOfWeek() != DayOfWeek.FRIDAY);
+            assertFalse(start.isBefore(LocalTime.of(8, 0)));
+            assertFalse(end.isAfter(LocalTime.of(22, 0)));
+
+            for (int cleaner : cleaners) {
+                assertEquals(vehicle, cleaner / 5);
+
+                LocalTime free = freeFrom.get(date + "/" + cleaner);
+                assertTrue(free == null || !start.isBefore(free));
+                freeFrom.put(date + "/" + cleaner, end.plusMinutes(30));
+            }
+        });
+    }
+
+    @Test
+    void shouldBookCleanersCloseToTheRequestedDensity() {
+        int[] assignments = new int[1];
+
+        generator(7L).generate(MONDAY, (date, vehicle, start, end, cleaners) ->
+                assignments[0] += cleaners.length
+        );
+
+        // 6 working days, 10 vehicles of 5 cleaners, 3 bookings each.
+        assertTrue(assignments[0] >= 6 * 10 * 5 * 3);
+    }
+
+    private static List<String> bookings(long seed) {
+        List<String> bookings = new ArrayList<>();
+
+        generator(seed).generate(MONDAY, (date, vehicle, start, end, cleaners) ->
+                bookings.add(date + " " + vehicle + " " + start + "-" + end + " " + Arrays.toString(cleaners))
+        );
+
+        return bookings;
+    }
+
+    private static SyntheticDataGenerator generator(long seed) {
+        return new SyntheticDataGenerator(
+                new SyntheticSeedConfig(10, 5, 3, 7, null, seed, 1000),
+                TestSchedulingConfig.defaultConfig()
+        );
+    }
+}
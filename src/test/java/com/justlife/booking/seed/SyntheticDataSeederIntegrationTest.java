@@ -0,0 +1,67 @@
+package com.justlife.booking.seed;
+
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.dto.BookingResponseDto;
+import com.justlife.booking.service.BookingService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "app.synthetic.vehicles=20",
+        "app.synthetic.cleaners-per-vehicle=5",
+        "app.synthetic.bookings-per-cleaner=3",
+        "app.synthetic.days=7",
+        "app.synthetic.start-date=2030-01-07",
+        "app.synthetic.batch-size=100"
+})
+@Transactional
+@AutoConfigureTestDatabase
+@ActiveProfiles({"test", "synthetic"})
+class SyntheticDataSeederIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void shouldLoadTheConfiguredFleetAndBookings() {
+        assertEquals(20, count("vehicles"));
+        assertEquals(100, count("cleaners"));
+
+        // Six working days of 100 cleaners booked three times each.
+        assertTrue(count("booking_cleaners") >= 6 * 100 * 3);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE date = DATE '2030-01-11'", Long.class
+        ));
+    }
+
+    @Test
+    void shouldLeaveTheSequencesPastTheSeededRows() {
+        long seeded = count("bookings");
+
+        BookingResponseDto booking = bookingService.createBooking(
+                new BookingRequestDto(LocalDate.of(2030, 2, 4), LocalTime.of(10, 0), 120, 2)
+        );
+
+        assertNotNull(booking.bookingId());
+        assertTrue(booking.bookingId() > seeded);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
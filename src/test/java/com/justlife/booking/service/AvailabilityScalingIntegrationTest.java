@@ -0,0 +1,145 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.VehicleAvailabilityDto;
+import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.roster.RosterCache;
+import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class AvailabilityScalingIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+    private static final int CLEANERS_PER_VEHICLE = 5;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    // The seed bypasses the entity listeners and is rolled back afterwards.
+    @AfterEach
+    void tearDown() {
+        rosterCache.invalidate();
+        occupancyIndex.evict(DATE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {500, 5_000, 50_000})
+    void shouldServeLargeFleetsWithoutBindingTheRoster(int cleaners) {
+        seed(cleaners / CLEANERS_PER_VEHICLE);
+
+        statistics.clear();
+        List<VehicleDailyAvailabilityDto> daily =
+                availabilityService.getDailyAvailabilityByVehicle(DATE);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(cleaners, daily.stream().mapToInt(v -> v.cleaners().size()).sum());
+        assertEquals(2, daily.get(0).cleaners().get(0).timeSlots().size());
+
+        occupancyIndex.evict(DATE);
+
+        statistics.clear();
+        List<VehicleAvailabilityDto> busy =
+                availabilityService.getAvailabilityByVehicle(DATE, LocalTime.of(10, 0), 60);
+        List<VehicleAvailabilityDto> free =
+                availabilityService.getAvailabilityByVehicle(DATE, LocalTime.of(13, 0), 60);
+
+        // The roster is cached by now, so only the date version of each
+        // request and the occupancy are read.
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertTrue(busy.isEmpty());
+        assertEquals(cleaners, free.stream().mapToInt(v -> v.cleaners().size()).sum());
+    }
+
+    // One team booking per vehicle from 10:00 to 11:00, inserted set-based.
+    private void seed(int vehicles) {
+        jdbcTemplate.update("""
+                INSERT INTO vehicles (id, name, created_at, updated_at)
+                SELECT NEXT VALUE FOR vehicles_seq, 'Scale-' || X, NOW(), NOW()
+                FROM SYSTEM_RANGE(1, ?)
+                """, vehicles);
+
+        jdbcTemplate.update("""
+                INSERT INTO cleaners (id, name, vehicle_id, created_at, updated_at)
+                SELECT NEXT VALUE FOR cleaners_seq, v.name || '-' || r.X, v.id, NOW(), NOW()
+                FROM vehicles v, SYSTEM_RANGE(1, ?) r
+                """, CLEANERS_PER_VEHICLE);
+
+        jdbcTemplate.update("""
+                INSERT INTO bookings
+                    (id, date, start_time, end_time, vehicle_id, status, created_at, updated_at)
+                SELECT NEXT VALUE FOR bookings_seq, ?, TIME '10:00:00', TIME '11:00:00',
+                       v.id, 'CREATED', NOW(), NOW()
+                FROM vehicles v
+                """, DATE);
+
+        jdbcTemplate.update("""
+                INSERT INTO booking_cleaners (id, booking_id, cleaner_id)
+                SELECT NEXT VALUE FOR booking_cleaners_seq, b.id, c.id
+                FROM bookings b
+                JOIN cleaners c ON c.vehicle_id = b.vehicle_id
+                """);
+
+        rosterCache.invalidate();
+        occupancyIndex.evict(DATE);
+    }
+}
@@ -1,6 +1,9 @@
 package com.justlife.booking.service;
 
 import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.AvailabilityHeatmapDto;
+import com.justlife.booking.dto.DatedVehicleAvailabilityDto;
+import com.justlife.booking.dto.SlotOptionDto;
 import com.justlife.booking.dto.VehicleAvailabilityDto;
 import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
 import com.justlife.booking.model.Booking;
@@ -11,7 +14,10 @@ import com.justlife.booking.repository.BookingRepository;
 import com.justlife.booking.repository.CleanerRepository;
 import com.justlife.booking.repository.VehicleRepository;
 import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -20,11 +26,14 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
@@ -51,6 +60,9 @@ class AvailabilityServiceIntegrationTest {
     @Autowired
     private TimeProvider timeProvider;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void shouldReturnFullDayAvailabilityWhenNoBookingsExist() {
         Vehicle vehicle = vehicleRepository.saveAndFlush(
@@ -118,4 +130,240 @@ class AvailabilityServiceIntegrationTest {
 
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindTheFirstStartAfterNow() {
+        Vehicle vehicle = new Vehicle("V1");
+        vehicle.addCleaner(new Cleaner("A"));
+        vehicleRepository.saveAndFlush(vehicle);
+
+        now(2026, 1, 19, 9, 0);
+
+        List<SlotOptionDto> options =
+                availabilityService.findNextAvailable(1, 60, null, 3);
+
+        assertEquals(3, options.size());
+        assertEquals(LocalDate.of(2026, 1, 19), options.get(0).date());
+        assertEquals(LocalTime.of(9, 15), options.get(0).startTime());
+        assertEquals(LocalTime.of(10, 15), options.get(0).endTime());
+        assertEquals("V1", options.get(0).vehicleName());
+        assertEquals(LocalTime.of(9, 30), options.get(1).startTime());
+        assertEquals(LocalTime.of(9, 45), options.get(2).startTime());
+    }
+
+    @Test
+    void shouldSkipTheNonWorkingDay() {
+        Vehicle vehicle = new Vehicle("V1");
+        vehicle.addCleaner(new Cleaner("A"));
+        vehicleRepository.saveAndFlush(vehicle);
+
+        now(2026, 1, 19, 9, 0);
+
+        List<SlotOptionDto> options = availabilityService.findNextAvailable(
+                1,
+                120,
+                LocalDateTime.of(2026, 1, 22, 21, 0),
+                1
+        );
+
+        assertEquals(LocalDate.of(2026, 1, 24), options.get(0).date());
+        assertEquals(LocalTime.of(8, 0), options.get(0).startTime());
+    }
+
+    @Test
+    void shouldRespectTheBreakAfterExistingBookings() {
+        Vehicle vehicle = vehicleRepository.saveAndFlush(new Vehicle("V1"));
+
+        Cleaner cleaner = new Cleaner("A");
+        cleaner.setVehicle(vehicle);
+        cleanerRepository.saveAndFlush(cleaner);
+
+        Booking booking = new Booking(
+                LocalDate.of(2026, 1, 20),
+                LocalTime.of(10, 0),
+                LocalTime.of(12, 0),
+                vehicle
+        );
+        booking.assignCleaner(cleaner);
+        bookingRepository.saveAndFlush(booking);
+
+        now(2026, 1, 19, 9, 0);
+
+        List<SlotOptionDto> options = availabilityService.findNextAvailable(
+                1,
+                60,
+                LocalDateTime.of(2026, 1, 20, 9, 0),
+                2
+        );
+
+        assertEquals(LocalTime.of(12, 30), options.get(0).startTime());
+        assertEquals(LocalTime.of(12, 45), options.get(1).startTime());
+    }
+
+    @Test
+    void shouldSeeABookingAnotherNodeMade() {
+        Vehicle vehicle = new Vehicle("V1");
+        Cleaner cleaner = new Cleaner("A");
+        vehicle.addCleaner(cleaner);
+        vehicleRepository.saveAndFlush(vehicle);
+
+        now(2026, 1, 19, 9, 0);
+
+        LocalDateTime from = LocalDateTime.of(2026, 1, 20, 8, 0);
+
+        assertEquals(
+                LocalTime.of(8, 0),
+                availabilityService.findNextAvailable(1, 60, from, 1).get(0).startTime()
+        );
+
+        // Written behind this node's occupancy index, as another node would.
+        entityManager.createNativeQuery("""
+                        INSERT INTO bookings
+                            (id, date, start_time, end_time, vehicle_id, status, created_at, updated_at)
+                        VALUES (9001, DATE '2026-01-20', TIME '08:00:00', TIME '10:00:00', ?, 'CREATED',
+                                CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                        """)
+                .setParameter(1, vehicle.getId())
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "INSERT INTO booking_cleaners (id, booking_id, cleaner_id) VALUES (9001, 9001, ?)")
+                .setParameter(1, cleaner.getId())
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "INSERT INTO booking_day_versions (date, version) VALUES (DATE '2026-01-20', 1)")
+                .executeUpdate();
+
+        assertEquals(
+                LocalTime.of(10, 30),
+                availabilityService.findNextAvailable(1, 60, from, 1).get(0).startTime()
+        );
+    }
+
+    @Test
+    void shouldReadAndLoadEachSearchedWeekWithTwoQueries() {
+        Vehicle vehicle = new Vehicle("V1");
+        vehicle.addCleaner(new Cleaner("A"));
+        vehicle.addCleaner(new Cleaner("B"));
+        vehicleRepository.saveAndFlush(vehicle);
+
+        now(2026, 2, 2, 9, 0);
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<SlotOptionDto> options = availabilityService.findNextAvailable(
+                3,
+                60,
+                LocalDateTime.of(2026, 2, 2, 9, 0),
+                5
+        );
+
+        assertTrue(options.isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + 2 * 4);
+    }
+
+    @Test
+    void shouldStreamEveryWorkingDayOfTheRangeFromOneQuery() {
+        Vehicle vehicle = vehicleRepository.saveAndFlush(new Vehicle("V1"));
+
+        Cleaner cleaner = new Cleaner("A");
+        cleaner.setVehicle(vehicle);
+        cleanerRepository.saveAndFlush(cleaner);
+
+        Booking booking = new Booking(
+                LocalDate.of(2026, 1, 20),
+                LocalTime.of(10, 0),
+                LocalTime.of(12, 0),
+                vehicle
+        );
+        booking.assignCleaner(cleaner);
+        bookingRepository.saveAndFlush(booking);
+
+        now(2026, 1, 19, 9, 0);
+        availabilityService.getDailyAvailabilityByVehicle(LocalDate.of(2026, 1, 19));
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<DatedVehicleAvailabilityDto> lines = new ArrayList<>();
+        availabilityService.streamAvailabilityRange(
+                LocalDate.of(2026, 1, 19),
+                LocalDate.of(2026, 1, 24),
+                lines::add
+        );
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(
+                List.of(
+                        LocalDate.of(2026, 1, 19),
+                        LocalDate.of(2026, 1, 20),
+                        LocalDate.of(2026, 1, 21),
+                        LocalDate.of(2026, 1, 22),
+                        LocalDate.of(2026, 1, 24)
+                ),
+                lines.stream().map(DatedVehicleAvailabilityDto::date).toList()
+        );
+        assertEquals(LocalTime.of(9, 30), lines.get(0).cleaners().get(0).timeSlots().get(0).start());
+        assertEquals(2, lines.get(1).cleaners().get(0).timeSlots().size());
+    }
+
+    @Test
+    void shouldCountFreeCleanersPerBucketKeepingTheBreak() {
+        Vehicle vehicle = vehicleRepository.saveAndFlush(new Vehicle("V1"));
+
+        Cleaner busy = new Cleaner("A");
+        busy.setVehicle(vehicle);
+        cleanerRepository.saveAndFlush(busy);
+
+        Cleaner idle = new Cleaner("B");
+        idle.setVehicle(vehicle);
+        cleanerRepository.saveAndFlush(idle);
+
+        Booking booking = new Booking(
+                LocalDate.of(2026, 1, 20),
+                LocalTime.of(10, 0),
+                LocalTime.of(12, 0),
+                vehicle
+        );
+        booking.assignCleaner(busy);
+        bookingRepository.saveAndFlush(booking);
+
+        now(2026, 1, 20, 8, 40);
+
+        AvailabilityHeatmapDto heatmap = availabilityService.getHeatmap(
+                LocalDate.of(2026, 1, 20),
+                LocalDate.of(2026, 1, 24),
+                60
+        );
+
+        assertEquals(
+                List.of(
+                        LocalDate.of(2026, 1, 20),
+                        LocalDate.of(2026, 1, 21),
+                        LocalDate.of(2026, 1, 22),
+                        LocalDate.of(2026, 1, 24)
+                ),
+                heatmap.days().stream().map(d -> d.date()).toList()
+        );
+
+        // 08:00 and 09:00 have passed, 09:30-12:30 is taken with the break.
+        assertArrayEquals(
+                new int[] {0, 0, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2},
+                heatmap.days().get(0).vehicles().get(0).freeCleaners()
+        );
+        assertEquals(2, heatmap.days().get(1).vehicles().get(0).freeCleaners()[0]);
+    }
+
+    private void now(int year, int month, int day, int hour, int minute) {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        year, month, day, hour, minute, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+    }
+}
@@ -1,16 +1,26 @@
 package com.justlife.booking.service;
 
+import com.justlife.booking.availability.DailyAvailabilityCache;
+import com.justlife.booking.availability.SingleFlight;
 import com.justlife.booking.config.SchedulingConfig;
 import com.justlife.booking.config.TestSchedulingConfig;
 import com.justlife.booking.dto.VehicleDailyAvailabilityDto;
+import com.justlife.booking.metrics.ServiceMetrics;
+import com.justlife.booking.occupancy.DayVersions;
+import com.justlife.booking.occupancy.OccupancyIndex;
 import com.justlife.booking.repository.BookingCleanerRepository;
 import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.DayVersionRepository;
+import com.justlife.booking.roster.RosterCache;
 import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -20,6 +30,9 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +47,12 @@ class AvailabilityServiceTest {
     @Mock
     private TimeProvider timeProvider;
 
+    @Mock
+    private DayVersionRepository dayVersionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private AvailabilityService availabilityService;
 
     @BeforeEach
@@ -41,10 +60,16 @@ class AvailabilityServiceTest {
         SchedulingConfig schedulingConfig = TestSchedulingConfig.defaultConfig();
 
         availabilityService = new AvailabilityService(
-                cleanerRepository,
+                new RosterCache(cleanerRepository),
                 bookingCleanerRepository,
+                new OccupancyIndex(bookingCleanerRepository, schedulingConfig, timeProvider),
+                new DayVersions(dayVersionRepository),
+                new DailyAvailabilityCache(schedulingConfig),
+                new SingleFlight(schedulingConfig),
+                transactionManager,
                 schedulingConfig,
-                timeProvider
+                timeProvider,
+                new ServiceMetrics(new SimpleMeterRegistry())
         );
     }
 
@@ -83,13 +108,30 @@ class AvailabilityServiceTest {
                         ZoneId.of("Asia/Kolkata"))
         );
 
-        when(cleanerRepository.findAllWithVehicle())
+        when(cleanerRepository.findRoster())
                 .thenReturn(List.of());
 
         List<VehicleDailyAvailabilityDto> result =
                 availabilityService.getDailyAvailabilityByVehicle(date);
 
         assertTrue(result.isEmpty());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void shouldSearchAndBuildHeatmapsInReadOnlyTransactions() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata"))
+        );
+
+        when(cleanerRepository.findRoster())
+                .thenReturn(List.of());
+
+        availabilityService.findNextAvailable(1, 60, null, 1);
+        availabilityService.getHeatmap(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 1, 20), 60);
+
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
     }
 
     @Test
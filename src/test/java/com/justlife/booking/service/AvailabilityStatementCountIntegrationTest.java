@@ -0,0 +1,137 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.repository.BookingRepository;
+import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class AvailabilityStatementCountIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void dailyAvailabilityShouldUseFixedStatementCountRegardlessOfFleetSize() {
+        seed(2, 0);
+        long small = statements(() -> availabilityService.getDailyAvailabilityByVehicle(DATE));
+
+        seed(40, 2);
+        long large = statements(() -> availabilityService.getDailyAvailabilityByVehicle(DATE));
+
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void slotAvailabilityShouldUseFixedStatementCountRegardlessOfFleetSize() {
+        seed(2, 0);
+        long small = statements(() -> availabilityService.getAvailabilityByVehicle(
+                DATE, LocalTime.of(13, 0), 60
+        ));
+
+        seed(40, 2);
+        long large = statements(() -> availabilityService.getAvailabilityByVehicle(
+                DATE, LocalTime.of(13, 0), 60
+        ));
+
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    private long statements(Runnable request) {
+        entityManager.flush();
+        entityManager.clear();
+        occupancyIndex.evict(DATE);
+        statistics.clear();
+
+        request.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int vehicles, int offset) {
+        for (int v = 0; v < vehicles; v++) {
+            Vehicle vehicle = vehicleRepository.save(new Vehicle("V" + (offset + v)));
+
+            for (int c = 0; c < 3; c++) {
+                Cleaner cleaner = new Cleaner("C" + (offset + v) + "-" + c);
+                cleaner.setVehicle(vehicle);
+                cleanerRepository.save(cleaner);
+
+                Booking booking = new Booking(
+                        DATE,
+                        LocalTime.of(9 + c, 0),
+                        LocalTime.of(10 + c, 0),
+                        vehicle
+                );
+                booking.assignCleaner(cleaner);
+                bookingRepository.save(booking);
+            }
+        }
+    }
+}
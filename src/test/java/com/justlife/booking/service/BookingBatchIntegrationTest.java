@@ -0,0 +1,176 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.BatchBookingRequestDto;
+import com.justlife.booking.dto.BatchBookingResponseDto;
+import com.justlife.booking.dto.BatchBookingResultDto;
+import com.justlife.booking.dto.BatchOrder;
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.repository.BookingRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class BookingBatchIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
+        for (int v = 1; v <= 2; v++) {
+            Vehicle vehicle = new Vehicle("V" + v);
+            for (int c = 0; c < 4; c++) {
+                vehicle.addCleaner(new Cleaner("V" + v + "-C" + c));
+            }
+            vehicleRepository.save(vehicle);
+        }
+        vehicleRepository.flush();
+
+        occupancyIndex.evict(DATE);
+        occupancyIndex.evict(DATE.plusDays(1));
+    }
+
+    @Test
+    void shouldAllocateEachBookingAgainstTheOnesBeforeIt() {
+        BatchBookingResponseDto response = bookingService.createBookings(
+                new BatchBookingRequestDto(
+                        List.of(
+                                new BookingRequestDto(DATE, TEN, 120, 4),
+                                new BookingRequestDto(DATE, TEN, 120, 4),
+                                new BookingRequestDto(DATE, TEN, 120, 1),
+                                new BookingRequestDto(LocalDate.of(2026, 1, 23), TEN, 120, 1)
+                        ),
+                        null
+                )
+        );
+
+        List<BatchBookingResultDto> results = response.results();
+
+        assertEquals(2, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(201, results.get(0).status());
+        assertEquals(201, results.get(1).status());
+        assertNotEquals(
+                results.get(0).booking().vehicleId(),
+                results.get(1).booking().vehicleId()
+        );
+        assertEquals(409, results.get(2).status());
+        assertNull(results.get(2).booking());
+        assertEquals(400, results.get(3).status());
+        assertEquals("Non-working day", results.get(3).message());
+        assertEquals(2, bookingRepository.count());
+    }
+
+    @Test
+    void shouldPackLargestBookingsFirstWhenAsked() {
+        List<BookingRequestDto> bookings = List.of(
+                new BookingRequestDto(DATE, TEN, 60, 1),
+                new BookingRequestDto(DATE, TEN, 60, 1),
+                new BookingRequestDto(DATE, TEN, 60, 3),
+                new BookingRequestDto(DATE, TEN, 60, 3)
+        );
+
+        BatchBookingResponseDto response = bookingService.createBookings(
+                new BatchBookingRequestDto(bookings, BatchOrder.LARGEST_FIRST)
+        );
+
+        assertEquals(4, response.created());
+        for (int i = 0; i < bookings.size(); i++) {
+            assertEquals(i, response.results().get(i).index());
+        }
+    }
+
+    @Test
+    void shouldKeepRoundTripsConstantForLargeBatches() {
+        List<BookingRequestDto> bookings = new ArrayList<>();
+        for (int hour = 8; hour <= 20; hour++) {
+            bookings.add(new BookingRequestDto(DATE, LocalTime.of(hour, 0), 60, 4));
+            bookings.add(new BookingRequestDto(DATE.plusDays(1), LocalTime.of(hour, 0), 60, 4));
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        BatchBookingResponseDto response = bookingService.createBookings(
+                new BatchBookingRequestDto(bookings, BatchOrder.SUBMISSION)
+        );
+
+        assertEquals(bookings.size(), response.created());
+        // The roster and the assignments of both dates.
+        assertEquals(2, statistics.getQueryExecutionCount());
+        // Those two, a few pooled sequence calls and one batched insert per
+        // table for 26 bookings, 104 assignments and 624 slot claims.
+        assertTrue(
+                statistics.getPrepareStatementCount() <= 13,
+                () -> "Prepared " + statistics.getPrepareStatementCount() + " statements"
+        );
+    }
+
+    @Test
+    void shouldRejectAnEmptyBatch() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingService.createBookings(new BatchBookingRequestDto(List.of(), null))
+        );
+    }
+}
@@ -0,0 +1,290 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.dto.BookingRescheduleRequestDto;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.roster.RosterCache;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+// Not transactional: every request commits on its own, as it would in production.
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class BookingConcurrencyIntegrationTest {
+
+    private static final List<LocalDate> DATES = List.of(
+            LocalDate.of(2026, 2, 2),
+            LocalDate.of(2026, 2, 3),
+            LocalDate.of(2026, 2, 4)
+    );
+
+    // One working day per thread, Friday left out.
+    private static final List<List<LocalDate>> SCALING_DATES = Stream.of(9, 10, 11, 12, 14, 15, 16, 17)
+            .map(day -> List.of(LocalDate.of(2026, 2, day)))
+            .toList();
+
+    private static final int VEHICLES = 4;
+    private static final int CLEANERS_PER_VEHICLE = 5;
+    private static final int REQUESTS_PER_THREAD = 250;
+    private static final int SCALING_REQUESTS_PER_THREAD = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
+        for (int v = 1; v <= VEHICLES; v++) {
+            Vehicle vehicle = new Vehicle("Stress-" + v);
+
+            for (int c = 1; c <= CLEANERS_PER_VEHICLE; c++) {
+                vehicle.addCleaner(new Cleaner("Stress-" + v + "-" + c));
+            }
+
+            vehicleRepository.save(vehicle);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearBookings();
+        jdbcTemplate.update("DELETE FROM cleaners");
+        jdbcTemplate.update("DELETE FROM vehicles");
+
+        rosterCache.invalidate();
+    }
+
+    @Test
+    void concurrentCreatesAndReschedulesShouldNeverDoubleBookACleaner() throws Exception {
+        Workload workload = run(8, thread -> DATES, REQUESTS_PER_THREAD);
+
+        assertTrue(workload.created() > 0);
+        assertTrue(workload.rejected() > 0);
+
+        assertEquals(
+                workload.created(),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class)
+        );
+        assertNoOverlaps();
+    }
+
+    // Timing-based and close to a minute long, so it is left out of the
+    // default build; run it with mvn test -Pscaling.
+    @Test
+    @Tag("scaling")
+    void throughputShouldGrowWithThreadsWorkingOnSeparateDates() throws Exception {
+        // Warms up the allocation and persistence paths before measuring.
+        run(1, SCALING_DATES::get, SCALING_REQUESTS_PER_THREAD);
+        clearBookings();
+
+        Map<Integer, Double> throughput = new TreeMap<>();
+
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            Workload workload = run(threads, SCALING_DATES::get, SCALING_REQUESTS_PER_THREAD);
+            throughput.put(threads, workload.requestsPerSecond());
+            assertNoOverlaps();
+            clearBookings();
+        }
+
+        throughput.forEach((threads, rate) ->
+                System.out.printf("%d thread(s): %.0f requests/s%n", threads, rate));
+
+        assertTrue(
+                throughput.get(4) >= 1.5 * throughput.get(1),
+                () -> "Four threads should manage at least 1.5x one thread: " + throughput
+        );
+    }
+
+    /**
+     * Runs creates and reschedules from {@code threads} threads at once, each
+     * on the dates {@code datesOf} gives it, and waits for all of them.
+     */
+    private Workload run(
+            int threads,
+            IntFunction<List<LocalDate>> datesOf,
+            int requestsPerThread
+    ) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            List<LocalDate> dates = datesOf.apply(t);
+
+            executor.submit(() -> {
+                Random random = new Random(seed);
+                List<Long> ownBookings = new ArrayList<>();
+
+                try {
+                    start.await();
+
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        try {
+                            if (!ownBookings.isEmpty() && random.nextInt(5) == 0) {
+                                bookingService.rescheduleBooking(
+                                        ownBookings.get(random.nextInt(ownBookings.size())),
+                                        new BookingRescheduleRequestDto(
+                                                randomDate(random, dates),
+                                                LocalTime.of(8 + random.nextInt(10), 0)
+                                        )
+                                );
+                            } else {
+                                ownBookings.add(bookingService.createBooking(
+                                        new BookingRequestDto(
+                                                randomDate(random, dates),
+                                                LocalTime.of(8 + random.nextInt(11), 30 * random.nextInt(2)),
+                                                60 + 30 * random.nextInt(4),
+                                                1 + random.nextInt(3)
+                                        )
+                                ).bookingId());
+                                created.incrementAndGet();
+                            }
+                        } catch (NoCapacityException e) {
+                            rejected.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            // Claims that kept losing to other threads; anything
+                            // else is a failure.
+                            if (!e.getMessage().startsWith("Cleaners were booked concurrently")) {
+                                throw e;
+                            }
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsed = System.nanoTime() - began;
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+
+        return new Workload(threads * requestsPerThread, created.get(), rejected.get(), elapsed);
+    }
+
+    private void clearBookings() {
+        jdbcTemplate.update("DELETE FROM booking_cleaner_slots");
+        jdbcTemplate.update("DELETE FROM booking_cleaners");
+        jdbcTemplate.update("DELETE FROM bookings");
+
+        DATES.forEach(occupancyIndex::evict);
+        SCALING_DATES.stream().flatMap(List::stream).forEach(occupancyIndex::evict);
+    }
+
+    private void assertNoOverlaps() {
+        Map<String, List<LocalTime[]>> byCleanerAndDate = new HashMap<>();
+
+        jdbcTemplate.query("""
+                SELECT bc.cleaner_id, b.date, b.start_time, b.end_time
+                FROM booking_cleaners bc
+                JOIN bookings b ON b.id = bc.booking_id
+                ORDER BY b.start_time
+                """, rs -> {
+            byCleanerAndDate
+                    .computeIfAbsent(
+                            rs.getLong(1) + "@" + rs.getDate(2),
+                            k -> new ArrayList<>()
+                    )
+                    .add(new LocalTime[]{
+                            rs.getTime(3).toLocalTime(),
+                            rs.getTime(4).toLocalTime()
+                    });
+        });
+
+        assertFalse(byCleanerAndDate.isEmpty());
+
+        byCleanerAndDate.forEach((key, intervals) -> {
+            for (int i = 1; i < intervals.size(); i++) {
+                LocalTime previousEnd = intervals.get(i - 1)[1];
+                LocalTime nextStart = intervals.get(i)[0];
+
+                assertFalse(
+                        nextStart.isBefore(previousEnd.plusMinutes(30)),
+                        () -> "Overlapping assignments for cleaner@date " + key
+                );
+            }
+        });
+    }
+
+    private static LocalDate randomDate(Random random, List<LocalDate> dates) {
+        return dates.get(random.nextInt(dates.size()));
+    }
+
+    private record Workload(int requests, int created, int rejected, long elapsedNanos) {
+
+        double requestsPerSecond() {
+            return requests * 1e9 / elapsedNanos;
+        }
+    }
+}
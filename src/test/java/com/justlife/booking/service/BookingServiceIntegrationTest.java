@@ -1,30 +1,45 @@
 package com.justlife.booking.service;
 
+import com.justlife.booking.config.TimeProviderTestConfig;
 import com.justlife.booking.dto.BookingRequestDto;
 import com.justlife.booking.dto.BookingRescheduleRequestDto;
 import com.justlife.booking.dto.BookingResponseDto;
+import com.justlife.booking.dto.SlotOptionDto;
 import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.BookingStatus;
 import com.justlife.booking.model.Cleaner;
 import com.justlife.booking.model.Vehicle;
 import com.justlife.booking.repository.BookingRepository;
 import com.justlife.booking.repository.CleanerRepository;
 import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 @Transactional
 @AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
 @ActiveProfiles("test")
 class BookingServiceIntegrationTest {
 
@@ -40,8 +55,21 @@ class BookingServiceIntegrationTest {
     @Autowired
     BookingRepository bookingRepository;
 
+    @Autowired
+    TimeProvider timeProvider;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @BeforeEach
     void setup() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
         Vehicle vehicle = vehicleRepository.saveAndFlush(new Vehicle("V1"));
 
         for (int i = 0; i < 3; i++) {
@@ -69,6 +97,23 @@ class BookingServiceIntegrationTest {
         assertEquals(2, booking.getCleaners().size());
     }
 
+    @Test
+    void shouldNotAssignCleanersThatAreAlreadyBooked() {
+        BookingRequestDto request = new BookingRequestDto(
+                LocalDate.of(2026, 1, 20),
+                LocalTime.of(10, 0),
+                60,
+                2
+        );
+
+        bookingService.createBooking(request);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> bookingService.createBooking(request)
+        );
+    }
+
     @Test
     void rescheduleShouldReleaseOldCleaners() {
         BookingResponseDto booking =
@@ -99,4 +144,115 @@ class BookingServiceIntegrationTest {
         );
         assertEquals(2, dbBooking.getCleaners().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRecordTheOutcomeAndTheCleanersConsidered() {
+        BookingRequestDto request = new BookingRequestDto(
+                LocalDate.of(2026, 1, 20),
+                LocalTime.of(10, 0),
+                60,
+                3
+        );
+
+        long created = requests("success");
+        long rejected = requests("no_capacity");
+        double considered = considered();
+
+        bookingService.createBooking(request);
+        assertThrows(NoCapacityException.class, () -> bookingService.createBooking(request));
+
+        assertEquals(created + 1, requests("success"));
+        assertEquals(rejected + 1, requests("no_capacity"));
+        assertEquals(considered + 3, considered());
+    }
+
+    @Test
+    void shouldSuggestTheNearestStartsOnTheSameDay() {
+        bookingService.createBooking(
+                new BookingRequestDto(LocalDate.of(2026, 1, 20), LocalTime.of(10, 0), 120, 3)
+        );
+
+        NoCapacityException conflict = assertThrows(
+                NoCapacityException.class,
+                () -> bookingService.createBooking(
+                        new BookingRequestDto(LocalDate.of(2026, 1, 20), LocalTime.of(11, 0), 60, 1)
+                )
+        );
+
+        List<SlotOptionDto> alternatives = conflict.getAlternatives();
+
+        // Four on the day, then one on each of the next three working days.
+        assertEquals(7, alternatives.size());
+        assertEquals(LocalTime.of(12, 30), alternatives.get(0).startTime());
+        assertTrue(alternatives.subList(0, 4).stream()
+                .allMatch(a -> a.date().equals(LocalDate.of(2026, 1, 20))));
+    }
+
+    @Test
+    void shouldSuggestTheNextWorkingDaysWhetherOrNotTheyAreLoaded() {
+        bookingService.createBooking(
+                new BookingRequestDto(LocalDate.of(2026, 1, 20), LocalTime.of(8, 0), 840, 3)
+        );
+        bookingService.createBooking(
+                new BookingRequestDto(LocalDate.of(2026, 1, 21), LocalTime.of(8, 0), 60, 3)
+        );
+
+        NoCapacityException conflict = assertThrows(
+                NoCapacityException.class,
+                () -> bookingService.createBooking(
+                        new BookingRequestDto(LocalDate.of(2026, 1, 20), LocalTime.of(11, 0), 60, 2)
+                )
+        );
+
+        List<SlotOptionDto> alternatives = conflict.getAlternatives();
+
+        // Friday the 23rd is not a working day.
+        assertEquals(
+                List.of(LocalDate.of(2026, 1, 21), LocalDate.of(2026, 1, 22), LocalDate.of(2026, 1, 24)),
+                alternatives.stream().map(SlotOptionDto::date).toList()
+        );
+        assertTrue(alternatives.stream()
+                .allMatch(a -> a.startTime().equals(LocalTime.of(11, 0))));
+    }
+
+    @Test
+    void shouldGiveTheBookingToTheCleanerWithTheTightestGap() {
+        Cleaner busy = cleanerRepository.findAll().stream()
+                .filter(c -> c.getName().equals("C1"))
+                .findFirst()
+                .orElseThrow();
+
+        Booking morning = new Booking(
+                LocalDate.of(2026, 1, 20),
+                LocalTime.of(8, 0),
+                LocalTime.of(10, 0),
+                busy.getVehicle()
+        );
+        morning.assignCleaner(busy);
+        morning.setStatus(BookingStatus.CREATED);
+        bookingRepository.saveAndFlush(morning);
+
+        BookingResponseDto response = bookingService.createBooking(
+                new BookingRequestDto(LocalDate.of(2026, 1, 20), LocalTime.of(10, 30), 90, 1)
+        );
+
+        assertEquals("C1", response.cleaners().get(0).name());
+    }
+
+    private long requests(String outcome) {
+        return meterRegistry.find("booking.requests")
+                .tags("operation", "create", "outcome", outcome)
+                .timers()
+                .stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private double considered() {
+        DistributionSummary summary = meterRegistry.find("booking.cleaners.considered")
+                .tag("operation", "create")
+                .summary();
+
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
@@ -1,20 +1,29 @@
 package com.justlife.booking.service;
 
+import com.justlife.booking.allocation.AllocationLocks;
 import com.justlife.booking.config.SchedulingConfig;
 import com.justlife.booking.config.TestSchedulingConfig;
 import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.metrics.ServiceMetrics;
 import com.justlife.booking.model.Booking;
 import com.justlife.booking.model.BookingStatus;
 import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.DayVersions;
+import com.justlife.booking.occupancy.OccupancyIndex;
 import com.justlife.booking.repository.BookingCleanerRepository;
 import com.justlife.booking.repository.BookingRepository;
 import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.DayVersionRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.roster.RosterCache;
 import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -35,12 +44,18 @@ class BookingServiceTest {
     @Mock
     BookingRepository bookingRepository;
 
+    @Mock
+    VehicleRepository vehicleRepository;
+
     @Mock
     BookingCleanerRepository bookingCleanerRepository;
 
     @Mock
     TimeProvider timeProvider;
 
+    @Mock
+    DayVersionRepository dayVersionRepository;
+
     SchedulingConfig schedulingConfig;
 
     BookingService bookingService;
@@ -51,9 +66,15 @@ class BookingServiceTest {
         bookingService = new BookingService(
                 cleanerRepository,
                 bookingRepository,
-                bookingCleanerRepository,
+                vehicleRepository,
+                new RosterCache(cleanerRepository),
+                new OccupancyIndex(bookingCleanerRepository, schedulingConfig, timeProvider),
+                new DayVersions(dayVersionRepository),
+                new AllocationLocks(schedulingConfig),
+                TransactionOperations.withoutTransaction(),
                 schedulingConfig,
-                timeProvider
+                timeProvider,
+                new ServiceMetrics(new SimpleMeterRegistry())
         );
     }
 
@@ -81,6 +102,7 @@ class BookingServiceTest {
         verifyNoInteractions(
                 cleanerRepository,
                 bookingRepository,
+                vehicleRepository,
                 bookingCleanerRepository
         );
     }
@@ -97,7 +119,7 @@ class BookingServiceTest {
         );
         booking.setStatus(BookingStatus.CREATED);
 
-        when(bookingRepository.findById(1L))
+        when(bookingRepository.findWithAssignmentsById(1L))
                 .thenReturn(Optional.of(booking));
 
         when(timeProvider.now()).thenReturn(
@@ -0,0 +1,234 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.BatchBookingRequestDto;
+import com.justlife.booking.dto.BatchBookingResponseDto;
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.dto.BookingRescheduleRequestDto;
+import com.justlife.booking.dto.BookingResponseDto;
+import com.justlife.booking.dto.CleanerDailyAvailabilityDto;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.TimeSlot;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.roster.RosterCache;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+// Not transactional: conflicts must surface as committed rows from "another node".
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class BookingSlotClaimIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 2, 10);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
+        Vehicle vehicle = new Vehicle("Claims-1");
+        vehicle.addCleaner(new Cleaner("Claims-1-1"));
+        vehicle.addCleaner(new Cleaner("Claims-1-2"));
+        vehicleRepository.save(vehicle);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM booking_cleaner_slots");
+        jdbcTemplate.update("DELETE FROM booking_cleaners");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM cleaners");
+        jdbcTemplate.update("DELETE FROM vehicles");
+
+        occupancyIndex.evict(DATE);
+        occupancyIndex.evict(DATE.plusDays(1));
+        rosterCache.invalidate();
+    }
+
+    @Test
+    void shouldClaimBufferedSlotsAndReleaseThemOnCancel() {
+        BookingResponseDto booking = bookingService.createBooking(request(LocalTime.of(10, 0), 1));
+
+        // 10:00-11:00 plus a 30 minute break on a 15 minute grid
+        assertEquals(6, claims(booking.bookingId()));
+
+        bookingService.cancelBooking(booking.bookingId());
+
+        assertEquals(0, claims(booking.bookingId()));
+    }
+
+    @Test
+    void shouldMoveClaimsOnReschedule() {
+        BookingResponseDto booking = bookingService.createBooking(request(LocalTime.of(10, 0), 2));
+
+        bookingService.rescheduleBooking(
+                booking.bookingId(),
+                new BookingRescheduleRequestDto(DATE.plusDays(1), LocalTime.of(14, 0))
+        );
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM booking_cleaner_slots WHERE date = ?",
+                Integer.class,
+                DATE
+        ));
+        assertEquals(12, claims(booking.bookingId()));
+    }
+
+    @Test
+    void shouldRetryWithAnotherCleanerWhenAClaimIsTakenElsewhere() {
+        occupancyIndex.day(DATE);
+
+        BookingResponseDto elsewhere = bookingService.createBooking(request(LocalTime.of(10, 0), 1));
+        long taken = elsewhere.cleaners().get(0).id();
+
+        // Forget it locally, as if it had been committed by another node.
+        occupancyIndex.evict(DATE);
+        jdbcTemplate.update("UPDATE bookings SET date = ? WHERE id = ?", DATE.minusDays(1), elsewhere.bookingId());
+        occupancyIndex.day(DATE);
+        jdbcTemplate.update("UPDATE bookings SET date = ? WHERE id = ?", DATE, elsewhere.bookingId());
+
+        BookingResponseDto booking = bookingService.createBooking(request(LocalTime.of(10, 30), 1));
+
+        assertNotEquals(taken, booking.cleaners().get(0).id());
+        assertThrows(
+                IllegalStateException.class,
+                () -> bookingService.createBooking(request(LocalTime.of(10, 30), 1))
+        );
+    }
+
+    @Test
+    void shouldRecordTheCleanersOnlyTheCommittedBatchAttemptConsidered() {
+        occupancyIndex.day(DATE);
+
+        BookingResponseDto elsewhere = bookingService.createBooking(request(LocalTime.of(10, 0), 1));
+
+        occupancyIndex.evict(DATE);
+        jdbcTemplate.update("UPDATE bookings SET date = ? WHERE id = ?", DATE.minusDays(1), elsewhere.bookingId());
+        occupancyIndex.day(DATE);
+        jdbcTemplate.update("UPDATE bookings SET date = ? WHERE id = ?", DATE, elsewhere.bookingId());
+
+        DistributionSummary cleaners = meterRegistry.summary("booking.cleaners.considered", "operation", "batch");
+        DistributionSummary conflicts = meterRegistry.summary("booking.conflicts.considered", "operation", "batch");
+        long samples = cleaners.count();
+        double considered = cleaners.totalAmount();
+        double busy = conflicts.totalAmount();
+
+        BatchBookingResponseDto response = bookingService.createBookings(
+                new BatchBookingRequestDto(List.of(request(LocalTime.of(10, 30), 1)), null)
+        );
+
+        // The retry saw the cleaner taken elsewhere busy and booked the other.
+        assertEquals(1, response.created());
+        assertEquals(samples + 1, cleaners.count());
+        assertEquals(considered + 2, cleaners.totalAmount());
+        assertEquals(busy + 1, conflicts.totalAmount());
+    }
+
+    @Test
+    void shouldRejectRequestsOffTheSlotGrid() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingService.createBooking(request(LocalTime.of(10, 5), 1))
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingService.createBooking(new BookingRequestDto(DATE, LocalTime.of(10, 0), 50, 1))
+        );
+    }
+
+    @Test
+    void shouldRoundLegacyUnalignedBookingsTheSameWayEverywhere() {
+        BookingResponseDto legacy = bookingService.createBooking(request(LocalTime.of(10, 0), 1));
+        long cleanerId = legacy.cleaners().get(0).id();
+
+        // As stored before requests had to be aligned.
+        jdbcTemplate.update(
+                "UPDATE bookings SET start_time = ?, end_time = ? WHERE id = ?",
+                LocalTime.of(10, 5), LocalTime.of(12, 5), legacy.bookingId()
+        );
+        occupancyIndex.evict(DATE);
+
+        // 12:05 plus the break is 12:35, which claims up to 12:45.
+        List<TimeSlot> free = availabilityService.getDailyAvailabilityByVehicle(DATE).get(0)
+                .cleaners().stream()
+                .filter(cleaner -> cleaner.cleanerId() == cleanerId)
+                .map(CleanerDailyAvailabilityDto::timeSlots)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(LocalTime.of(9, 30), free.get(0).end());
+        assertEquals(LocalTime.of(12, 45), free.get(1).start());
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> bookingService.createBooking(request(LocalTime.of(12, 30), 2))
+        );
+        bookingService.createBooking(request(LocalTime.of(12, 45), 2));
+    }
+
+    private Integer claims(Long bookingId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM booking_cleaner_slots s
+                JOIN booking_cleaners bc ON bc.id = s.booking_cleaner_id
+                WHERE bc.booking_id = ?
+                """, Integer.class, bookingId);
+    }
+
+    private static BookingRequestDto request(LocalTime start, int cleaners) {
+        return new BookingRequestDto(DATE, start, 60, cleaners);
+    }
+}
@@ -0,0 +1,104 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+class BookingWriteBatchingIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(
+                        2026, 1, 19, 10, 0, 0, 0,
+                        ZoneId.of("Asia/Kolkata")
+                )
+        );
+
+        Vehicle vehicle = new Vehicle("V1");
+        for (int c = 0; c < 5; c++) {
+            vehicle.addCleaner(new Cleaner("C" + c));
+        }
+        vehicleRepository.saveAndFlush(vehicle);
+
+        occupancyIndex.day(DATE);
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void shouldWriteAFiveCleanerBookingInBatches() {
+        // Warms up the sequence pools.
+        bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(10, 0), 120, 5)
+        );
+
+        statistics.clear();
+
+        bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(14, 0), 120, 5)
+        );
+
+        // One booking, five assignments and ten claimed slots per assignment.
+        assertEquals(56, statistics.getEntityInsertCount());
+        // The roster and the occupancy are cached, and writing the booking
+        // leaves the roster cached.
+        assertEquals(0, statistics.getQueryExecutionCount());
+        // A sequence call or two and one batched insert per table, instead of
+        // 56 single-row inserts.
+        assertTrue(
+                statistics.getPrepareStatementCount() <= 5,
+                () -> "Prepared " + statistics.getPrepareStatementCount() + " statements"
+        );
+    }
+}
@@ -0,0 +1,189 @@
+package com.justlife.booking.service;
+
+import com.justlife.booking.config.TimeProviderTestConfig;
+import com.justlife.booking.dto.BookingRequestDto;
+import com.justlife.booking.dto.BookingRescheduleRequestDto;
+import com.justlife.booking.dto.BookingResponseDto;
+import com.justlife.booking.metrics.StatementBudget;
+import com.justlife.booking.metrics.StatementBudgetExtension;
+import com.justlife.booking.model.Booking;
+import com.justlife.booking.model.Cleaner;
+import com.justlife.booking.model.Vehicle;
+import com.justlife.booking.occupancy.OccupancyIndex;
+import com.justlife.booking.repository.BookingRepository;
+import com.justlife.booking.repository.CleanerRepository;
+import com.justlife.booking.repository.VehicleRepository;
+import com.justlife.booking.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement budgets of the request paths, which must not grow with the fleet.
+ * Every request runs against a cold persistence context and occupancy index.
+ * Writes include the occasional sequence fetch, and releasing assignments
+ * costs two deletes per cleaner of the booking.
+ */
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+@Import(TimeProviderTestConfig.class)
+@ActiveProfiles("test")
+@ExtendWith(StatementBudgetExtension.class)
+class StatementBudgetIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 20);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        when(timeProvider.now()).thenReturn(
+                ZonedDateTime.of(2026, 1, 19, 10, 0, 0, 0, ZoneId.of("Asia/Kolkata"))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void createBookingShouldStayWithinBudget(int vehicles, StatementBudget budget) {
+        seed(vehicles);
+        cold();
+
+        budget.atMost(10, "createBooking", () -> bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(13, 0), 120, 3)
+        ));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void rescheduleBookingShouldStayWithinBudget(int vehicles, StatementBudget budget) {
+        seed(vehicles);
+        BookingResponseDto booking = bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(13, 0), 120, 3)
+        );
+        cold();
+
+        budget.atMost(16, "rescheduleBooking", () -> bookingService.rescheduleBooking(
+                booking.bookingId(),
+                new BookingRescheduleRequestDto(DATE, LocalTime.of(16, 0))
+        ));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void unchangedRescheduleShouldStayWithinBudget(int vehicles, StatementBudget budget) {
+        seed(vehicles);
+        BookingResponseDto booking = bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(13, 0), 120, 3)
+        );
+        cold();
+
+        budget.atMost(1, "unchanged rescheduleBooking", () -> bookingService.rescheduleBooking(
+                booking.bookingId(),
+                new BookingRescheduleRequestDto(DATE, LocalTime.of(13, 0))
+        ));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void cancelBookingShouldStayWithinBudget(int vehicles, StatementBudget budget) {
+        seed(vehicles);
+        BookingResponseDto booking = bookingService.createBooking(
+                new BookingRequestDto(DATE, LocalTime.of(13, 0), 120, 3)
+        );
+        cold();
+
+        budget.atMost(9, "cancelBooking", () -> {
+            bookingService.cancelBooking(booking.bookingId());
+            entityManager.flush();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void dailyAvailabilityShouldStayWithinBudget(int vehicles, StatementBudget budget) {
+        seed(vehicles);
+        cold();
+
+        budget.atMost(3, "getDailyAvailability", () ->
+                availabilityService.getDailyAvailability(DATE)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void windowAvailabilityShouldStayWithinBudget(int vehicles, StatementBudget budget) {
+        seed(vehicles);
+        cold();
+
+        budget.atMost(3, "getAvailabilityByVehicle", () ->
+                availabilityService.getAvailabilityByVehicle(DATE, LocalTime.of(13, 0), 60)
+        );
+    }
+
+    private void cold() {
+        entityManager.flush();
+        entityManager.clear();
+        occupancyIndex.evict(DATE);
+    }
+
+    private void seed(int vehicles) {
+        for (int v = 0; v < vehicles; v++) {
+            Vehicle vehicle = vehicleRepository.save(new Vehicle("V" + v));
+
+            for (int c = 0; c < 5; c++) {
+                Cleaner cleaner = new Cleaner("C" + v + "-" + c);
+                cleaner.setVehicle(vehicle);
+                cleanerRepository.save(cleaner);
+
+                if (c < 2) {
+                    Booking booking = new Booking(
+                            DATE,
+                            LocalTime.of(9 + c, 0),
+                            LocalTime.of(10 + c, 0),
+                            vehicle
+                    );
+                    booking.assignCleaner(cleaner);
+                    bookingRepository.save(booking);
+                }
+            }
+        }
+    }
+}